@@ -0,0 +1,51 @@
+package ru.otus.hw.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.dao.CsvQuestionDao;
+import ru.otus.hw.dao.parser.OpenCsvQuestionParser;
+import ru.otus.hw.dao.parser.QuestionParser;
+import ru.otus.hw.dao.parser.StreamingQuestionParser;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Загрузка и разбор всего файла вопросов из classpath, как при каждом запуске теста с test.questionSource=csv
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CsvQuestionDaoBenchmark {
+
+    @Param({"opencsv", "streaming"})
+    private String csvParser;
+
+    private CsvQuestionDao questionDao;
+
+    @Setup
+    public void createDao(GeneratedQuestions generatedQuestions) throws IOException {
+        String fileName = generatedQuestions.writeCsvToClasspath();
+        QuestionParser parser = "streaming".equals(csvParser)
+                ? new StreamingQuestionParser()
+                : new OpenCsvQuestionParser();
+        questionDao = new CsvQuestionDao(() -> fileName, parser);
+    }
+
+    @Benchmark
+    public List<Question> findAll() {
+        return questionDao.findAll();
+    }
+}
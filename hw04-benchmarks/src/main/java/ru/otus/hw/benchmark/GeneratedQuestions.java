@@ -0,0 +1,112 @@
+package ru.otus.hw.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Банк из questionsCount сгенерированных вопросов: в памяти и, по запросу, CSV-файлом в classpath.
+ * Файл пишется в каталог с классами бенчмарков или, при запуске из jar, в benchmark-data рядом с jar
+ * (этот каталог добавлен в Class-Path манифеста).
+ */
+@State(Scope.Benchmark)
+public class GeneratedQuestions {
+
+    private static final int ANSWERS_PER_QUESTION = 4;
+
+    @Param({"1000", "100000", "1000000"})
+    private int questionsCount;
+
+    private List<Question> questions;
+
+    @Setup
+    public void generate() {
+        questions = new ArrayList<>(questionsCount);
+        for (int i = 0; i < questionsCount; i++) {
+            List<Answer> answers = new ArrayList<>(ANSWERS_PER_QUESTION);
+            for (int answer = 0; answer < ANSWERS_PER_QUESTION; answer++) {
+                answers.add(new Answer(answerText(i, answer), answer == correctAnswer(i)));
+            }
+            questions.add(new Question(questionText(i), answers));
+        }
+    }
+
+    public int getQuestionsCount() {
+        return questionsCount;
+    }
+
+    public List<Question> getQuestions() {
+        return questions;
+    }
+
+    // Номер правильного ответа (с 1) для скриптованного студента
+    public static int rightAnswerNumber(int questionIndex) {
+        return correctAnswer(questionIndex) + 1;
+    }
+
+    /**
+     * Пишет банк в CSV, если файла еще нет, и возвращает имя ресурса для CsvQuestionDao.
+     */
+    public String writeCsvToClasspath() throws IOException {
+        String fileName = "benchmark-questions-" + questionsCount + ".csv";
+        Path file = getClasspathDataDirectory().resolve(fileName);
+        if (Files.exists(file)) {
+            return fileName;
+        }
+
+        Files.createDirectories(file.getParent());
+        Path tempFile = Files.createTempFile(file.getParent(), fileName, ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            writer.write("# text;answer1%isCorrect1|answer2%isCorrect2|answer3%isCorrect3|answer4%isCorrect4");
+            writer.newLine();
+            for (int i = 0; i < questionsCount; i++) {
+                writer.write(questionText(i));
+                writer.write(';');
+                for (int answer = 0; answer < ANSWERS_PER_QUESTION; answer++) {
+                    if (answer > 0) {
+                        writer.write('|');
+                    }
+                    writer.write(answerText(i, answer) + '%' + (answer == correctAnswer(i)));
+                }
+                writer.newLine();
+            }
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return fileName;
+    }
+
+    private static Path getClasspathDataDirectory() {
+        try {
+            Path codeSource = Path.of(GeneratedQuestions.class.getProtectionDomain().getCodeSource()
+                    .getLocation().toURI());
+            return Files.isDirectory(codeSource) ? codeSource : codeSource.resolveSibling("benchmark-data");
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int correctAnswer(int questionIndex) {
+        return questionIndex % ANSWERS_PER_QUESTION;
+    }
+
+    private static String questionText(int questionIndex) {
+        return "Question number " + questionIndex + " about something important?";
+    }
+
+    private static String answerText(int questionIndex, int answer) {
+        return "Answer " + answer + " for question " + questionIndex;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.otus.hw.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import ru.otus.hw.service.LocalizedMessagesServiceImpl;
+import ru.otus.hw.service.messages.MessageTemplateRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Сообщения, которые выводятся на каждый вопрос: приглашение с номером вопроса и сообщение без аргументов
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LocalizedMessagesBenchmark {
+
+    private static final String ANSWER_PROMPT = "TestService.question.answer.prompt";
+
+    private static final String INVALID_ANSWER = "TestService.invalid.answer.message";
+
+    @Param({"ru-RU", "en-US"})
+    private String locale;
+
+    private LocalizedMessagesServiceImpl messagesService;
+
+    private int questionNumber = 1;
+
+    @Setup
+    public void createService() {
+        var messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        messageSource.setFallbackToSystemLocale(false);
+
+        Locale currentLocale = Locale.forLanguageTag(locale);
+        var templateRegistry = new MessageTemplateRegistry(
+                () -> Map.of("ru-RU", "questions_ru.csv", "en-US", "questions.csv"),
+                "messages", StandardCharsets.UTF_8);
+        messagesService = new LocalizedMessagesServiceImpl(() -> currentLocale, messageSource, templateRegistry);
+    }
+
+    @Benchmark
+    public String getMessageWithQuestionNumber(GeneratedQuestions generatedQuestions) {
+        int number = questionNumber;
+        questionNumber = number == generatedQuestions.getQuestionsCount() ? 1 : number + 1;
+        return messagesService.getMessage(ANSWER_PROMPT, number);
+    }
+
+    @Benchmark
+    public String getMessageWithoutArguments() {
+        return messagesService.getMessage(INVALID_ANSWER);
+    }
+}
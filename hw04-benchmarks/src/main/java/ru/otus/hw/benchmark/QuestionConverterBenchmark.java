@@ -0,0 +1,52 @@
+package ru.otus.hw.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.service.EncodedLine;
+import ru.otus.hw.service.converters.QuestionToStringConverterImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Отрисовка одного вопроса; вопросы перебираются по кругу, поэтому размер банка влияет на попадания в кэш
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class QuestionConverterBenchmark {
+
+    private final QuestionToStringConverterImpl converter = new QuestionToStringConverterImpl();
+
+    private int questionIndex;
+
+    @Benchmark
+    public String convertQuestionToString(GeneratedQuestions generatedQuestions) {
+        List<Question> questions = generatedQuestions.getQuestions();
+        int index = nextQuestionIndex(questions.size());
+        return converter.convertQuestionToString(questions.get(index), index + 1);
+    }
+
+    @Benchmark
+    public EncodedLine convertQuestionToEncodedLine(GeneratedQuestions generatedQuestions) {
+        List<Question> questions = generatedQuestions.getQuestions();
+        int index = nextQuestionIndex(questions.size());
+        return converter.convertQuestionToEncodedLine(questions.get(index), index + 1, StandardCharsets.UTF_8);
+    }
+
+    private int nextQuestionIndex(int questionsCount) {
+        int index = questionIndex;
+        questionIndex = index + 1 == questionsCount ? 0 : index + 1;
+        return index;
+    }
+}
@@ -0,0 +1,91 @@
+package ru.otus.hw.benchmark;
+
+import ru.otus.hw.service.EncodedLine;
+import ru.otus.hw.service.IOService;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Ввод-вывод без консоли: ответы берутся из сценария, вывод только подсчитывается,
+ * чтобы JIT не выбросил его формирование.
+ */
+public class ScriptedIOService implements IOService {
+
+    // Номер ответа по номеру запроса ответа (с 0)
+    private final IntUnaryOperator answerScript;
+
+    private int readsCount;
+
+    private long printedCharsCount;
+
+    public ScriptedIOService(IntUnaryOperator answerScript) {
+        this.answerScript = answerScript;
+    }
+
+    public long getPrintedCharsCount() {
+        return printedCharsCount;
+    }
+
+    public void reset() {
+        readsCount = 0;
+        printedCharsCount = 0;
+    }
+
+    @Override
+    public void printLine(String s) {
+        printedCharsCount += s.length() + 1;
+    }
+
+    @Override
+    public void printLine(EncodedLine line) {
+        printedCharsCount += line.bytes().length;
+    }
+
+    @Override
+    public Charset getOutputCharset() {
+        return StandardCharsets.UTF_8;
+    }
+
+    @Override
+    public void printFormattedLine(String s, Object... args) {
+        printLine(String.format(s, args));
+    }
+
+    @Override
+    public String readString() {
+        return String.valueOf(answerScript.applyAsInt(readsCount++));
+    }
+
+    @Override
+    public String readStringWithPrompt(String prompt) {
+        printLine(prompt);
+        return readString();
+    }
+
+    @Override
+    public int readIntForRange(int min, int max, String errorMessage) {
+        int answer = answerScript.applyAsInt(readsCount++);
+        if (answer < min || answer > max) {
+            throw new IllegalArgumentException("Error during reading int value");
+        }
+        return answer;
+    }
+
+    @Override
+    public int readIntForRangeWithPrompt(int min, int max, String prompt, String errorMessage) {
+        printLine(prompt);
+        return readIntForRange(min, max, errorMessage);
+    }
+
+    // Сценарий задает один номер ответа, он и становится выбором
+    @Override
+    public long readSelectionForRange(int min, int max, String errorMessage) {
+        return 1L << (readIntForRange(min, max, errorMessage) - min);
+    }
+
+    @Override
+    public void flush() {
+    }
+}
@@ -0,0 +1,119 @@
+package ru.otus.hw.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время от запуска процесса hw04 до первого приглашения shell.
+ * default - обычный исполняемый jar, fast-start - сборка с профилем fast-start (AOT, ленивые бины, CDS-архив).
+ * Пути считаются от каталога запуска; по умолчанию бенчмарки запускаются из корня проекта.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final byte[] PROMPT = "shell:>".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long PROMPT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    @Param({"default", "fast-start"})
+    private String startMode;
+
+    @Param({"hw04/target"})
+    private String hw04TargetDirectory;
+
+    @Param({"hw04-semenov-spring-shell-1.0-exec.jar"})
+    private String jarName;
+
+    private Process process;
+
+    @Benchmark
+    public long timeToFirstPrompt() throws IOException {
+        process = startProcess();
+        return awaitPrompt(process.getInputStream());
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopProcess() throws InterruptedException {
+        if (process == null) {
+            return;
+        }
+        try (OutputStream input = process.getOutputStream()) {
+            input.write("exit\n".getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            // Процесс уже завершился
+        }
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        process = null;
+    }
+
+    private Process startProcess() throws IOException {
+        Path targetDirectory = Path.of(hw04TargetDirectory).toAbsolutePath();
+        Path workingDirectory = "fast-start".equals(startMode)
+                ? targetDirectory.resolve("fast-start")
+                : targetDirectory;
+        if (!Files.exists(workingDirectory.resolve(jarName))) {
+            throw new IllegalStateException("No " + jarName + " in " + workingDirectory
+                    + ", build hw04" + ("fast-start".equals(startMode) ? " with -Pfast-start" : ""));
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if ("fast-start".equals(startMode)) {
+            command.add("-XX:SharedArchiveFile=application.jsa");
+            command.add("-Dspring.aot.enabled=true");
+            command.add("-Dspring.profiles.active=fast-start");
+        }
+        command.add("-jar");
+        command.add(jarName);
+        return new ProcessBuilder(command)
+                .directory(workingDirectory.toFile())
+                .redirectErrorStream(true)
+                .start();
+    }
+
+    // Читает вывод до приглашения shell и возвращает число прочитанных байт
+    private static long awaitPrompt(InputStream output) throws IOException {
+        long deadline = System.currentTimeMillis() + PROMPT_TIMEOUT_MILLIS;
+        long readCount = 0;
+        int matched = 0;
+        int b;
+        while ((b = output.read()) >= 0) {
+            readCount++;
+            matched = b == PROMPT[matched] ? matched + 1 : (b == PROMPT[0] ? 1 : 0);
+            if (matched == PROMPT.length) {
+                return readCount;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                break;
+            }
+        }
+        throw new IllegalStateException("hw04 exited or did not show the shell prompt");
+    }
+}
@@ -0,0 +1,116 @@
+package ru.otus.hw.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.CsvQuestionDao;
+import ru.otus.hw.dao.parser.StreamingQuestionParser;
+import ru.otus.hw.dao.results.ResultJournal;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.service.LocalizedIOServiceImpl;
+import ru.otus.hw.service.LocalizedMessagesServiceImpl;
+import ru.otus.hw.service.TestServiceImpl;
+import ru.otus.hw.service.converters.QuestionToStringConverterImpl;
+import ru.otus.hw.service.messages.MessageTemplateRegistry;
+import ru.otus.hw.service.sampling.AdaptiveQuestionSampler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Весь тест целиком: загрузка -> разбор -> отрисовка -> подсчет баллов, ответы студента берутся из сценария
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TestPipelineBenchmark {
+
+    private static final Student STUDENT = new Student("Ivan", "Ivanov");
+
+    private ScriptedIOService ioService;
+
+    private TestServiceImpl testService;
+
+    private ResultJournal resultJournal;
+
+    private Path resultJournalDirectory;
+
+    @Setup
+    public void createTestService(GeneratedQuestions generatedQuestions) throws IOException {
+        String fileName = generatedQuestions.writeCsvToClasspath();
+
+        var messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        messageSource.setFallbackToSystemLocale(false);
+        var templateRegistry = new MessageTemplateRegistry(() -> Map.of("en-US", fileName),
+                "messages", StandardCharsets.UTF_8);
+        var messagesService = new LocalizedMessagesServiceImpl(() -> Locale.US, messageSource, templateRegistry);
+
+        // Студент отвечает правильно на два вопроса из трех
+        ioService = new ScriptedIOService(questionIndex -> questionIndex % 3 == 0
+                ? GeneratedQuestions.rightAnswerNumber(questionIndex) % 4 + 1
+                : GeneratedQuestions.rightAnswerNumber(questionIndex));
+
+        resultJournalDirectory = Files.createTempDirectory("benchmark-results");
+        Path resultJournalFile = resultJournalDirectory.resolve("results.journal");
+        resultJournal = new ResultJournal(resultJournalFile::toString);
+
+        testService = new TestServiceImpl(
+                new LocalizedIOServiceImpl(messagesService, ioService),
+                new CsvQuestionDao(() -> fileName, new StreamingQuestionParser()),
+                new QuestionToStringConverterImpl(),
+                new TestConfig() {
+                    @Override
+                    public int getRightAnswersCountToPass() {
+                        return generatedQuestions.getQuestionsCount() / 2;
+                    }
+
+                    @Override
+                    public int getExamQuestionCount() {
+                        return 0;
+                    }
+
+                    @Override
+                    public Map<String, Integer> getQuestionCountByTopic() {
+                        return Map.of();
+                    }
+                },
+                () -> fileName,
+                new AdaptiveQuestionSampler(resultJournal));
+    }
+
+    @TearDown
+    public void deleteResultJournal() throws IOException {
+        resultJournal.destroy();
+        try (var files = Files.list(resultJournalDirectory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(resultJournalDirectory);
+    }
+
+    @Benchmark
+    public TestResult executeTestFor() {
+        ioService.reset();
+        return testService.executeTestFor(STUDENT);
+    }
+}
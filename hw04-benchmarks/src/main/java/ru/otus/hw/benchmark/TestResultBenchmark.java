@@ -0,0 +1,39 @@
+package ru.otus.hw.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Подсчет баллов за прохождение всего банка: новый результат и applyAnswer на каждый вопрос
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TestResultBenchmark {
+
+    private static final Student STUDENT = new Student("Ivan", "Ivanov");
+
+    private static final String QUESTION_FILE_NAME = "questions.csv";
+
+    @Benchmark
+    public TestResult applyAnswer(GeneratedQuestions generatedQuestions) {
+        List<Question> questions = generatedQuestions.getQuestions();
+        var testResult = new TestResult(STUDENT);
+        for (int i = 0; i < questions.size(); i++) {
+            // Каждый третий ответ неправильный
+            testResult.applyAnswer(QUESTION_FILE_NAME, i, questions.get(i), i % 3 != 0);
+        }
+        return testResult;
+    }
+}
@@ -1,17 +1,24 @@
 package ru.otus.hw.commands;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.shell.Availability;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellMethodAvailability;
+import org.springframework.shell.standard.ShellOption;
 
 @ShellComponent(value = "Application Commands")
-@RequiredArgsConstructor
 public class ApplicationCommands {
 
     private final CommandProcessorImpl commandProcessor;
 
+    // Shell создает команды до первого приглашения. При spring.main.lazy-initialization (профиль fast-start)
+    // прокси откладывает создание CommandProcessorImpl с локалями и вопросами до первой команды;
+    // без него CommandProcessorImpl, как и раньше, создается при старте контекста
+    public ApplicationCommands(@Lazy CommandProcessorImpl commandProcessor) {
+        this.commandProcessor = commandProcessor;
+    }
+
     @ShellMethod(value = "Start Testing", key = {"start", "s"})
     @ShellMethodAvailability("isStartCommandAvailable")
     public void startTest() {
@@ -35,6 +42,33 @@ public class ApplicationCommands {
         return commandProcessor.changeLanguage();
     }
 
+    @ShellMethod(value = "Start test server for several students", key = {"server-start", "ss"})
+    public String startServer() {
+        return commandProcessor.startServer();
+    }
+
+    @ShellMethod(value = "Stop test server", key = {"server-stop", "sst"})
+    public String stopServer() {
+        return commandProcessor.stopServer();
+    }
+
+    @ShellMethod(value = "Show pass rate and hardest questions", key = {"results-stats", "rs"})
+    public String showResultStatistics(@ShellOption(defaultValue = "5") int top) {
+        return commandProcessor.showResultStatistics(top);
+    }
+
+    @ShellMethod(value = "Grade answer sheets from CSV file without students", key = {"grade", "g"})
+    public String gradeAnswerSheets(String file, @ShellOption(defaultValue = "false") boolean journal) {
+        return commandProcessor.gradeAnswerSheets(file, journal);
+    }
+
+    @ShellMethod(value = "Run simulated students through the test and report latency", key = {"loadtest", "lt"})
+    public String runLoadTest(@ShellOption(defaultValue = "100") int students,
+                              @ShellOption(defaultValue = "100") long thinkTime,
+                              @ShellOption(defaultValue = "42") long seed) {
+        return commandProcessor.runLoadTest(students, thinkTime, seed);
+    }
+
     //Пробовал вынести в отдельный класс, но не получилось подставить правильный SpEl в ShellMethodAvailability
     public Availability isLogOutCommandAvailable() {
         return commandProcessor.isLogOutCommandAvailable();
@@ -11,6 +11,16 @@ public interface CommandProcessor {
 
     String changeLanguage();
 
+    String startServer();
+
+    String stopServer();
+
+    String showResultStatistics(int limit);
+
+    String gradeAnswerSheets(String answerSheetFile, boolean journal);
+
+    String runLoadTest(int studentsCount, long thinkTimeMillis, long seed);
+
     Availability isLogOutCommandAvailable();
 
     Availability isStartCommandAvailable();
@@ -5,11 +5,29 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.shell.Availability;
 import org.springframework.stereotype.Component;
 import ru.otus.hw.config.AppProperties;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.dao.results.QuestionStatistics;
+import ru.otus.hw.dao.results.ResultJournal;
+import ru.otus.hw.dao.results.ResultStatistics;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+import ru.otus.hw.loadtest.LatencyHistogram;
+import ru.otus.hw.loadtest.LoadTestReport;
+import ru.otus.hw.loadtest.LoadTestService;
+import ru.otus.hw.server.TestServer;
+import ru.otus.hw.service.BatchGradingReport;
+import ru.otus.hw.service.BatchGradingService;
 import ru.otus.hw.service.LocalizedIOService;
 import ru.otus.hw.service.StudentService;
 import ru.otus.hw.service.TestRunnerService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +41,16 @@ public class CommandProcessorImpl implements CommandProcessor {
 
     private final AppProperties appProperties;
 
+    private final TestServer testServer;
+
+    private final ResultJournal resultJournal;
+
+    private final QuestionDao questionDao;
+
+    private final BatchGradingService batchGradingService;
+
+    private final LoadTestService loadTestService;
+
     @Override
     public void startTest() {
         testRunnerService.run();
@@ -58,6 +86,123 @@ public class CommandProcessorImpl implements CommandProcessor {
         }
     }
 
+    @Override
+    public String startServer() {
+        if (testServer.isRunning()) {
+            return localizedIOService.getMessage("CommandProcessorImpl.server.already.started",
+                    String.valueOf(testServer.getPort()));
+        }
+        try {
+            // Порт передаем строкой, чтобы MessageFormat не разбил его на разряды
+            int port = testServer.start(appProperties.getServerPort());
+            return localizedIOService.getMessage("CommandProcessorImpl.server.started", String.valueOf(port));
+        } catch (IOException e) {
+            return localizedIOService.getMessage("CommandProcessorImpl.server.start.error", e.getMessage());
+        }
+    }
+
+    @Override
+    public String stopServer() {
+        if (!testServer.isRunning()) {
+            return localizedIOService.getMessage("CommandProcessorImpl.server.not.started");
+        }
+        testServer.stop();
+        return localizedIOService.getMessage("CommandProcessorImpl.server.stopped");
+    }
+
+    @Override
+    public String showResultStatistics(int limit) {
+        ResultStatistics statistics = resultJournal.getStatistics(limit);
+        if (statistics.attemptsCount() == 0) {
+            return localizedIOService.getMessage("CommandProcessorImpl.results.empty");
+        }
+
+        StringBuilder result = new StringBuilder(localizedIOService.getMessage("CommandProcessorImpl.results.attempts",
+                String.valueOf(statistics.attemptsCount()),
+                String.valueOf(statistics.passedCount()),
+                toPercent(statistics.passRate())));
+        result.append(System.lineSeparator())
+                .append(localizedIOService.getMessage("CommandProcessorImpl.results.hardest"));
+
+        // Номера вопросов в журнале свои у каждого файла, поэтому текст ищем в том файле, откуда вопрос задавался
+        Map<String, List<Question>> questionsByFileName = new HashMap<>();
+        for (QuestionStatistics questionStatistics : statistics.hardestQuestions()) {
+            int questionIndex = questionStatistics.questionIndex();
+            List<Question> questions = questionsByFileName.computeIfAbsent(questionStatistics.questionFileName(),
+                    this::findQuestionsQuietly);
+            // Если файл с вопросами изменился или не читается, показываем хотя бы файл и номер вопроса
+            String questionText = questionIndex < questions.size() ? questions.get(questionIndex).text() : "?";
+            result.append(System.lineSeparator())
+                    .append(localizedIOService.getMessage("CommandProcessorImpl.results.question",
+                            questionStatistics.questionFileName(),
+                            String.valueOf(questionIndex + 1),
+                            questionText,
+                            String.valueOf(questionStatistics.rightAnswersCount()),
+                            String.valueOf(questionStatistics.answersCount()),
+                            toPercent(questionStatistics.rightAnswersRate())));
+        }
+        return result.toString();
+    }
+
+    @Override
+    public String gradeAnswerSheets(String answerSheetFile, boolean journal) {
+        BatchGradingReport report;
+        try {
+            report = batchGradingService.grade(Path.of(answerSheetFile), testResults -> {
+                if (journal) {
+                    resultJournal.appendAll(testResults);
+                }
+            });
+        } catch (UncheckedIOException | QuestionReadException e) {
+            return localizedIOService.getMessage("CommandProcessorImpl.grade.error",
+                    answerSheetFile, String.valueOf(e.getMessage()));
+        }
+        return localizedIOService.getMessage("CommandProcessorImpl.grade.report",
+                String.valueOf(report.sheetsCount()),
+                String.valueOf(report.passedCount()),
+                String.valueOf(report.invalidAnswersCount()),
+                String.valueOf(report.wallTimeMillis()),
+                String.valueOf(report.sheetsPerSecond()));
+    }
+
+    @Override
+    public String runLoadTest(int studentsCount, long thinkTimeMillis, long seed) {
+        LoadTestReport report;
+        try {
+            report = loadTestService.run(studentsCount, thinkTimeMillis, seed);
+        } catch (IllegalArgumentException | IllegalStateException | UncheckedIOException e) {
+            return localizedIOService.getMessage("CommandProcessorImpl.loadtest.error", String.valueOf(e.getMessage()));
+        }
+
+        LatencyHistogram latencies = report.questionLatencies();
+        StringBuilder result = new StringBuilder(localizedIOService.getMessage("CommandProcessorImpl.loadtest.report",
+                String.valueOf(report.studentsCount()),
+                String.valueOf(report.completedTestsCount()),
+                String.valueOf(report.failedTestsCount()),
+                String.valueOf(report.wallTimeMillis())));
+        result.append(System.lineSeparator())
+                .append(localizedIOService.getMessage("CommandProcessorImpl.loadtest.throughput",
+                        toDecimal(report.testsPerSecond()),
+                        toDecimal(report.answersPerSecond())))
+                .append(System.lineSeparator())
+                .append(localizedIOService.getMessage("CommandProcessorImpl.loadtest.latency",
+                        String.valueOf(latencies.getTotalCount()),
+                        toMillis(latencies.getValueAtPercentile(50)),
+                        toMillis(latencies.getValueAtPercentile(90)),
+                        toMillis(latencies.getValueAtPercentile(99)),
+                        toMillis(latencies.getValueAtPercentile(99.9)),
+                        toMillis(latencies.getMaxValue())))
+                .append(System.lineSeparator());
+        if (report.isAllocationMeasured()) {
+            result.append(localizedIOService.getMessage("CommandProcessorImpl.loadtest.allocation",
+                    toDecimal(report.allocatedBytesPerSecond() / (1024 * 1024)),
+                    toDecimal(report.allocatedBytesPerAnswer() / 1024)));
+        } else {
+            result.append(localizedIOService.getMessage("CommandProcessorImpl.loadtest.allocation.unsupported"));
+        }
+        return result.toString();
+    }
+
     @Override
     public Availability isLogOutCommandAvailable() {
         return studentService.getCurrentStudent() != null
@@ -80,6 +225,26 @@ public class CommandProcessorImpl implements CommandProcessor {
     }
 
 
+    private List<Question> findQuestionsQuietly(String questionFileName) {
+        try {
+            return questionDao.findAllByFileName(questionFileName);
+        } catch (QuestionReadException e) {
+            return List.of();
+        }
+    }
+
+    private static String toPercent(double rate) {
+        return String.valueOf(Math.round(rate * 100));
+    }
+
+    private static String toDecimal(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
     private boolean matchLocale(String localeString) {
         try {
             // Поддержка форматов en-US, en_US, en
@@ -9,16 +9,33 @@ import java.util.Map;
 
 @Setter
 @ConfigurationProperties(prefix = "test")
-public class AppProperties implements TestConfig, TestFileNameProvider, LocaleConfig {
+public class AppProperties implements TestConfig, TestFileNameProvider, LocaleConfig, QuestionBankConfig,
+        TestFileNameByLocaleProvider, ResultJournalConfig {
 
     @Getter
     private int rightAnswersCountToPass;
 
+    @Getter
+    private int examQuestionCount;
+
+    @Getter
+    private Map<String, Integer> questionCountByTopic = Map.of();
+
     @Getter
     private Locale locale;
 
+    @Getter
     private Map<String, String> fileNameByLocaleTag;
 
+    @Getter
+    private String questionBankDirectory;
+
+    @Getter
+    private int serverPort;
+
+    @Getter
+    private String resultJournalFile;
+
     public void setLocale(String locale) {
         this.locale = Locale.forLanguageTag(locale);
     }
@@ -1,5 +1,13 @@
 package ru.otus.hw.config;
 
+import java.util.Map;
+
 public interface TestConfig {
     int getRightAnswersCountToPass();
+
+    // Сколько вопросов задавать на экзамене; 0 - все вопросы банка по порядку
+    int getExamQuestionCount();
+
+    // Темы экзамена и сколько вопросов брать из каждой (0 - все); пусто - один файл на локаль
+    Map<String, Integer> getQuestionCountByTopic();
 }
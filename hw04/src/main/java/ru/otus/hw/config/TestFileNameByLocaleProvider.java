@@ -0,0 +1,7 @@
+package ru.otus.hw.config;
+
+import java.util.Map;
+
+public interface TestFileNameByLocaleProvider {
+    Map<String, String> getFileNameByLocaleTag();
+}
@@ -2,4 +2,16 @@ package ru.otus.hw.config;
 
 public interface TestFileNameProvider {
     String getTestFileName();
+
+    // Файл темы лежит рядом с файлом локали: questions_ru.csv -> questions_ru-spring.csv
+    default String getTopicFileName(String topic) {
+        String fileName = getTestFileName();
+        if (fileName == null) {
+            return null;
+        }
+        int extensionIndex = fileName.lastIndexOf('.');
+        return extensionIndex < 0
+                ? fileName + '-' + topic
+                : fileName.substring(0, extensionIndex) + '-' + topic + fileName.substring(extensionIndex);
+    }
 }
@@ -0,0 +1,217 @@
+package ru.otus.hw.dao;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Кэш вопросов поверх DAO источника. Хранит неизменяемый снимок вопросов на каждый файл (т.е. на каждую локаль),
+ * поэтому смена языка просто переключает снимок. Если файл лежит в файловой системе, а не в jar,
+ * снимок сбрасывается при его изменении.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "test", name = "question-cache-enabled", havingValue = "true", matchIfMissing = true)
+public class CachingQuestionDao implements QuestionDao, DisposableBean {
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final QuestionDao sourceQuestionDao;
+
+    // Кэши, построенные поверх снимков (например, отрисованные вопросы)
+    private final ObjectProvider<QuestionEvictionListener> evictionListeners;
+
+    private final Map<String, List<Question>> snapshotsByFileName = new ConcurrentHashMap<>();
+
+    // Отслеживаемые файлы и имена, под которыми они лежат в кэше
+    private final Map<Path, String> fileNamesByPath = new ConcurrentHashMap<>();
+
+    private final Set<Path> watchedDirectories = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder loadCount = new LongAdder();
+
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+
+    private volatile WatchService watchService;
+
+    public CachingQuestionDao(TestFileNameProvider fileNameProvider,
+                              @Qualifier(QuestionDao.SOURCE_QUALIFIER) QuestionDao sourceQuestionDao,
+                              ObjectProvider<QuestionEvictionListener> evictionListeners) {
+        this.fileNameProvider = fileNameProvider;
+        this.sourceQuestionDao = sourceQuestionDao;
+        this.evictionListeners = evictionListeners;
+    }
+
+    @Override
+    public List<Question> findAll() {
+        return findAllByFileName(fileNameProvider.getTestFileName());
+    }
+
+    @Override
+    public List<Question> findAllByTopic(String topic) {
+        return findAllByFileName(fileNameProvider.getTopicFileName(topic));
+    }
+
+    @Override
+    public List<Question> findAllByFileName(String fileName) {
+        if (fileName == null) {
+            return sourceQuestionDao.findAllByFileName(null);
+        }
+
+        List<Question> snapshot = snapshotsByFileName.get(fileName);
+        if (snapshot != null) {
+            hitCount.increment();
+            return snapshot;
+        }
+
+        // Промах считается внутри load: при гонке файл загружает только один поток
+        snapshot = snapshotsByFileName.computeIfAbsent(fileName, this::load);
+        watchIfExternal(fileName);
+        return snapshot;
+    }
+
+    @Override
+    public void evict(String fileName) {
+        snapshotsByFileName.remove(fileName);
+        sourceQuestionDao.evict(fileName);
+        evictionListeners.orderedStream().forEach(listener -> listener.onQuestionsEvicted(fileName));
+    }
+
+    public void evictAll() {
+        snapshotsByFileName.keySet().forEach(this::evict);
+    }
+
+    public QuestionCacheStats getStats() {
+        return new QuestionCacheStats(hitCount.sum(), missCount.sum(), loadCount.sum(), totalLoadTimeNanos.sum());
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        WatchService currentWatchService = watchService;
+        if (currentWatchService != null) {
+            currentWatchService.close();
+        }
+    }
+
+    private List<Question> load(String fileName) {
+        missCount.increment();
+        long startTime = System.nanoTime();
+        List<Question> questions = new Snapshot(sourceQuestionDao.findAllByFileName(fileName));
+        totalLoadTimeNanos.add(System.nanoTime() - startTime);
+        loadCount.increment();
+        return questions;
+    }
+
+    private void watchIfExternal(String fileName) {
+        URL resource = getClass().getClassLoader().getResource(fileName);
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            return;
+        }
+        try {
+            Path path = Path.of(resource.toURI()).toAbsolutePath();
+            fileNamesByPath.putIfAbsent(path, fileName);
+            Path directory = path.getParent();
+            if (watchedDirectories.add(directory)) {
+                directory.register(getWatchService(),
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        } catch (IOException | URISyntaxException | ClosedWatchServiceException e) {
+            // Без отслеживания кэш остается рабочим, просто не сбрасывается при изменении файла
+        }
+    }
+
+    private synchronized WatchService getWatchService() throws IOException {
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            Thread watcher = new Thread(this::watchChanges, "question-file-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+        return watchService;
+    }
+
+    private void watchChanges() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path changedFile) {
+                        String fileName = fileNamesByPath.get(directory.resolve(changedFile));
+                        if (fileName != null) {
+                            evict(fileName);
+                        }
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Бин уничтожен, прекращаем отслеживание
+        }
+    }
+
+    /**
+     * Неизменяемый снимок без копирования источника: банк, отображенный в память, не декодируется целиком,
+     * а каждый вопрос декодируется при первом обращении и дальше отдается тот же экземпляр.
+     */
+    private static final class Snapshot extends AbstractList<Question> implements RandomAccess {
+
+        private final List<Question> source;
+
+        private final AtomicReferenceArray<Question> questions;
+
+        Snapshot(List<Question> source) {
+            this.source = source;
+            this.questions = new AtomicReferenceArray<>(source.size());
+        }
+
+        @Override
+        public Question get(int index) {
+            Question question = questions.get(index);
+            if (question == null) {
+                question = source.get(index);
+                if (!questions.compareAndSet(index, null, question)) {
+                    question = questions.get(index);
+                }
+            }
+            return question;
+        }
+
+        @Override
+        public int size() {
+            return questions.length();
+        }
+    }
+}
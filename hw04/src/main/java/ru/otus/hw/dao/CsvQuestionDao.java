@@ -1,10 +1,11 @@
 package ru.otus.hw.dao;
 
-import com.opencsv.bean.CsvToBeanBuilder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import ru.otus.hw.config.TestFileNameProvider;
-import ru.otus.hw.dao.dto.QuestionDto;
+import ru.otus.hw.dao.parser.QuestionParser;
 import ru.otus.hw.domain.Question;
 import ru.otus.hw.exceptions.QuestionReadException;
 
@@ -16,6 +17,8 @@ import java.util.List;
 
 
 @Component
+@Qualifier(QuestionDao.SOURCE_QUALIFIER)
+@ConditionalOnProperty(prefix = "test", name = "question-source", havingValue = "csv", matchIfMissing = true)
 @RequiredArgsConstructor
 public class CsvQuestionDao implements QuestionDao {
     // Сообщение об ошибке, если в файле нет вопросов.
@@ -24,9 +27,6 @@ public class CsvQuestionDao implements QuestionDao {
     // Сообщение об ошибке при чтении файла.
     private static final String ERROR_READING_FILE = "Error reading file '%s'";
 
-    // Сообщение об ошибке при парсинге CSV.
-    private static final String ERROR_PARSING_FILE = "Error parsing CSV file";
-
     // Сообщение об ошибке, если имя файла не указано.
     private static final String FILE_NAME_NOT_PROVIDED = "Test file name is not provided";
 
@@ -36,44 +36,40 @@ public class CsvQuestionDao implements QuestionDao {
     // Провайдер имени файла с вопросами.
     private final TestFileNameProvider fileNameProvider;
 
+    // Парсер вопросов (opencsv или потоковый, выбирается свойством test.csvParser).
+    private final QuestionParser questionParser;
 
     @Override
     public List<Question> findAll() {
-        List<QuestionDto> questionDtos;
+        return findAllByFileName(fileNameProvider.getTestFileName());
+    }
+
+    @Override
+    public List<Question> findAllByTopic(String topic) {
+        return findAllByFileName(fileNameProvider.getTopicFileName(topic));
+    }
 
-        try (InputStream inputStream = getResourceInputStream();
+    @Override
+    public List<Question> findAllByFileName(String fileName) {
+        List<Question> questions;
+
+        try (InputStream inputStream = getResourceInputStream(fileName);
              BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            questionDtos = parseCSVDataFromReader(reader);
+            questions = questionParser.parse(reader);
         } catch (IOException e) {
             throw new QuestionReadException(
-                    String.format(ERROR_READING_FILE,
-                            fileNameProvider.getTestFileName()), e);
+                    String.format(ERROR_READING_FILE, fileName), e);
         }
-        if (questionDtos.isEmpty()) {
+        if (questions.isEmpty()) {
             throw new QuestionReadException(NO_QUESTIONS_FOUND);
         }
 
-        return questionDtos.stream().map(QuestionDto::toDomainObject).toList();
-    }
-
-    private static List<QuestionDto> parseCSVDataFromReader(BufferedReader reader) {
-        var csvToBean = new CsvToBeanBuilder<QuestionDto>(reader)
-                .withSkipLines(1)
-                .withSeparator(';')
-                .withType(QuestionDto.class)
-                .withOrderedResults(true)
-                .build();
-        try {
-            return csvToBean.parse();
-        } catch (RuntimeException e) {
-            throw new QuestionReadException(ERROR_PARSING_FILE, e);
-        }
+        return questions;
     }
 
 
-    private InputStream getResourceInputStream() throws IOException {
+    private InputStream getResourceInputStream(String fileName) throws IOException {
 
-        String fileName = fileNameProvider.getTestFileName();
         if (fileName == null || fileName.isEmpty()) {
             throw new IOException(FILE_NAME_NOT_PROVIDED);
         }
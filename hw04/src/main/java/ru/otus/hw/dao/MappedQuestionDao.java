@@ -0,0 +1,91 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.bank.QuestionBank;
+import ru.otus.hw.dao.bank.QuestionBankCompiler;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+@Component
+@Qualifier(QuestionDao.SOURCE_QUALIFIER)
+@ConditionalOnProperty(prefix = "test", name = "question-source", havingValue = "binary")
+@RequiredArgsConstructor
+public class MappedQuestionDao implements QuestionDao {
+    // Сообщение об ошибке, если в файле нет вопросов.
+    private static final String NO_QUESTIONS_FOUND = "No questions found in file";
+
+    // Сообщение об ошибке при чтении файла.
+    private static final String ERROR_READING_FILE = "Error reading file '%s'";
+
+    // Сообщение об ошибке, если имя файла не указано.
+    private static final String FILE_NAME_NOT_PROVIDED = "Test file name is not provided";
+
+    // Провайдер имени файла с вопросами.
+    private final TestFileNameProvider fileNameProvider;
+
+    private final QuestionBankCompiler questionBankCompiler;
+
+    // Открытые банки вопросов по имени исходного CSV, по одному на локаль и тему
+    private final Map<String, QuestionBank> banksByFileName = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Question> findAll() {
+        return findAllByFileName(fileNameProvider.getTestFileName());
+    }
+
+    @Override
+    public List<Question> findAllByTopic(String topic) {
+        return findAllByFileName(fileNameProvider.getTopicFileName(topic));
+    }
+
+    @Override
+    public List<Question> findAllByFileName(String fileName) {
+        if (fileName == null || fileName.isEmpty()) {
+            throw new QuestionReadException(String.format(ERROR_READING_FILE, fileName),
+                    new IOException(FILE_NAME_NOT_PROVIDED));
+        }
+
+        QuestionBank questionBank;
+        try {
+            long sourceLastModified = questionBankCompiler.getSourceLastModified(fileName);
+            // Открытый банк пересобирается, если исходный CSV изменился после его сборки
+            questionBank = banksByFileName.compute(fileName, (name, openBank) ->
+                    openBank != null && openBank.getSourceLastModified() == sourceLastModified
+                            ? openBank
+                            : openQuestionBank(name));
+        } catch (IOException e) {
+            throw new QuestionReadException(String.format(ERROR_READING_FILE, fileName), e);
+        } catch (UncheckedIOException e) {
+            throw new QuestionReadException(String.format(ERROR_READING_FILE, fileName), e.getCause());
+        }
+        if (questionBank.isEmpty()) {
+            throw new QuestionReadException(NO_QUESTIONS_FOUND);
+        }
+        return questionBank.asList();
+    }
+
+    @Override
+    public void evict(String fileName) {
+        // Следующее обращение откроет банк заново, сверив его с исходным CSV
+        banksByFileName.remove(fileName);
+    }
+
+    private QuestionBank openQuestionBank(String fileName) {
+        try {
+            return QuestionBank.open(questionBankCompiler.compile(fileName));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
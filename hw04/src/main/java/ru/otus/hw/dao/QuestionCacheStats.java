@@ -0,0 +1,13 @@
+package ru.otus.hw.dao;
+
+public record QuestionCacheStats(long hitCount, long missCount, long loadCount, long totalLoadTimeNanos) {
+
+    public double hitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    public double averageLoadTimeMillis() {
+        return loadCount == 0 ? 0.0 : totalLoadTimeNanos / 1_000_000.0 / loadCount;
+    }
+}
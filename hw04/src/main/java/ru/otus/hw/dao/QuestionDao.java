@@ -5,5 +5,18 @@ import ru.otus.hw.domain.Question;
 import java.util.List;
 
 public interface QuestionDao {
+    // Квалификатор DAO, читающего вопросы из источника (CSV или банк), которое оборачивается кэшем
+    String SOURCE_QUALIFIER = "sourceQuestionDao";
+
     List<Question> findAll();
+
+    // Вопросы из указанного файла независимо от текущей локали приложения (например, для сессий сервера)
+    List<Question> findAllByFileName(String fileName);
+
+    // Вопросы одной темы из отдельного файла текущей локали, см. TestFileNameProvider#getTopicFileName
+    List<Question> findAllByTopic(String topic);
+
+    // Сбрасывает закэшированные данные для файла с вопросами, если они есть
+    default void evict(String fileName) {
+    }
 }
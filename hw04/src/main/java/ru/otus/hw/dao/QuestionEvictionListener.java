@@ -0,0 +1,6 @@
+package ru.otus.hw.dao;
+
+// Уведомление о том, что вопросы файла сброшены из кэша и при следующем обращении будут прочитаны заново
+public interface QuestionEvictionListener {
+    void onQuestionsEvicted(String fileName);
+}
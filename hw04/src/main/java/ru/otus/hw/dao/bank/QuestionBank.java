@@ -0,0 +1,150 @@
+package ru.otus.hw.dao.bank;
+
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Скомпилированный банк вопросов, отображенный в память.
+ * <p>
+ * Формат файла (big-endian):
+ * <pre>
+ * int     MAGIC
+ * int     VERSION
+ * long    lastModified исходного CSV
+ * int     количество вопросов N
+ * int[N]  смещения записей вопросов от начала файла
+ * записи: str текст, int количество ответов, [byte isCorrect, str текст ответа]...
+ * </pre>
+ * где str - int длина в байтах и байты строки в UTF-8.
+ * Вопросы декодируются по одному при обращении, файл целиком в кучу не читается.
+ */
+public final class QuestionBank {
+
+    static final int MAGIC = 0x51424E4B;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = Integer.BYTES * 3 + Long.BYTES;
+
+    private static final int SOURCE_LAST_MODIFIED_OFFSET = Integer.BYTES * 2;
+
+    private static final int SIZE_OFFSET = SOURCE_LAST_MODIFIED_OFFSET + Long.BYTES;
+
+    private final ByteBuffer buffer;
+
+    private final int size;
+
+    private final List<Question> questions = new QuestionList();
+
+    private QuestionBank(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.size = buffer.getInt(SIZE_OFFSET);
+    }
+
+    public static QuestionBank open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            checkHeader(buffer, path);
+            return new QuestionBank(buffer);
+        }
+    }
+
+    /**
+     * Возвращает lastModified исходного CSV, из которого собран файл,
+     * или -1, если файл не является банком вопросов текущей версии.
+     */
+    public static long readSourceLastModified(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            int read = 0;
+            while (header.hasRemaining() && read >= 0) {
+                read = channel.read(header);
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION) {
+                return -1;
+            }
+            return header.getLong(SOURCE_LAST_MODIFIED_OFFSET);
+        }
+    }
+
+    /**
+     * Время изменения исходного CSV, из которого собран банк.
+     */
+    public long getSourceLastModified() {
+        return buffer.getLong(SOURCE_LAST_MODIFIED_OFFSET);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Question get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int position = buffer.getInt(HEADER_SIZE + index * Integer.BYTES);
+
+        int textLength = buffer.getInt(position);
+        String text = readString(position + Integer.BYTES, textLength);
+        position += Integer.BYTES + textLength;
+
+        int answersCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        Answer[] answers = new Answer[answersCount];
+        for (int i = 0; i < answersCount; i++) {
+            boolean isCorrect = buffer.get(position) != 0;
+            int answerLength = buffer.getInt(position + 1);
+            answers[i] = new Answer(readString(position + 1 + Integer.BYTES, answerLength), isCorrect);
+            position += 1 + Integer.BYTES + answerLength;
+        }
+        return new Question(text, List.of(answers));
+    }
+
+    /**
+     * Неизменяемое представление банка в виде списка, вопросы декодируются лениво.
+     */
+    public List<Question> asList() {
+        return questions;
+    }
+
+    private String readString(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void checkHeader(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.limit() < HEADER_SIZE
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("File '%s' is not a question bank".formatted(path));
+        }
+    }
+
+    private class QuestionList extends AbstractList<Question> implements RandomAccess {
+
+        @Override
+        public Question get(int index) {
+            return QuestionBank.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.otus.hw.dao.bank;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.QuestionBankConfig;
+import ru.otus.hw.dao.CsvQuestionDao;
+import ru.otus.hw.dao.parser.QuestionParser;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class QuestionBankCompiler {
+    // Расширение скомпилированного банка вопросов.
+    private static final String BANK_EXTENSION = ".qbank";
+
+    // Сообщение об ошибке, если файл не может быть прочитан.
+    private static final String CANT_READ_FILE = "Can't start read file with questions: %s";
+
+    private final QuestionBankConfig questionBankConfig;
+
+    private final QuestionParser questionParser;
+
+    /**
+     * Возвращает путь к банку вопросов для CSV из classpath.
+     * Банк пересобирается только если его нет или исходный CSV изменился.
+     */
+    public Path compile(String csvFileName) throws IOException {
+        long sourceLastModified = getSourceLastModified(csvFileName);
+
+        Path directory = Path.of(questionBankConfig.getQuestionBankDirectory());
+        Path bankPath = directory.resolve(toBankFileName(csvFileName));
+        if (Files.exists(bankPath) && QuestionBank.readSourceLastModified(bankPath) == sourceLastModified) {
+            return bankPath;
+        }
+
+        List<Question> questions = new CsvQuestionDao(() -> csvFileName, questionParser).findAll();
+        Files.createDirectories(directory);
+        // Пишем во временный файл и атомарно подменяем, чтобы читатели не увидели недописанный банк
+        Path tempPath = Files.createTempFile(directory, bankPath.getFileName().toString(), ".tmp");
+        try {
+            QuestionBankWriter.write(tempPath, questions, sourceLastModified);
+            Files.move(tempPath, bankPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+        return bankPath;
+    }
+
+    /**
+     * Время изменения исходного CSV в classpath, с ним сверяется уже открытый банк.
+     */
+    public long getSourceLastModified(String csvFileName) throws IOException {
+        URL source = getClass().getClassLoader().getResource(csvFileName);
+        if (source == null) {
+            throw new IOException(String.format(CANT_READ_FILE, csvFileName));
+        }
+        return source.openConnection().getLastModified();
+    }
+
+    private static String toBankFileName(String csvFileName) {
+        String fileName = Path.of(csvFileName).getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        return (extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName) + BANK_EXTENSION;
+    }
+}
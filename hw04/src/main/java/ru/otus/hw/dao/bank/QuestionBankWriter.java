@@ -0,0 +1,64 @@
+package ru.otus.hw.dao.bank;
+
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Запись вопросов в формате {@link QuestionBank}.
+ */
+public final class QuestionBankWriter {
+
+    private QuestionBankWriter() {
+    }
+
+    public static void write(Path path, List<Question> questions, long sourceLastModified) throws IOException {
+        int bodyStart = QuestionBank.HEADER_SIZE + questions.size() * Integer.BYTES;
+        int[] offsets = new int[questions.size()];
+
+        var body = new ByteArrayOutputStream();
+        var bodyOutput = new DataOutputStream(body);
+        for (int i = 0; i < questions.size(); i++) {
+            long offset = (long) bodyStart + body.size();
+            if (offset > Integer.MAX_VALUE) {
+                throw new IOException("Question bank '%s' is too large".formatted(path));
+            }
+            offsets[i] = (int) offset;
+            writeQuestion(bodyOutput, questions.get(i));
+        }
+
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(QuestionBank.MAGIC);
+            output.writeInt(QuestionBank.VERSION);
+            output.writeLong(sourceLastModified);
+            output.writeInt(questions.size());
+            for (int offset : offsets) {
+                output.writeInt(offset);
+            }
+            body.writeTo(output);
+        }
+    }
+
+    private static void writeQuestion(DataOutputStream output, Question question) throws IOException {
+        writeString(output, question.text());
+        output.writeInt(question.answers().size());
+        for (Answer answer : question.answers()) {
+            output.writeByte(answer.isCorrect() ? 1 : 0);
+            writeString(output, answer.text());
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.otus.hw.dao.parser;
+
+import com.opencsv.bean.CsvToBeanBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.dao.dto.QuestionDto;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.Reader;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(prefix = "test", name = "csv-parser", havingValue = "opencsv", matchIfMissing = true)
+public class OpenCsvQuestionParser implements QuestionParser {
+    // Сообщение об ошибке при парсинге CSV.
+    private static final String ERROR_PARSING_FILE = "Error parsing CSV file";
+
+    @Override
+    public List<Question> parse(Reader reader) {
+        var csvToBean = new CsvToBeanBuilder<QuestionDto>(reader)
+                .withSkipLines(1)
+                .withSeparator(';')
+                .withType(QuestionDto.class)
+                .withOrderedResults(true)
+                .build();
+        try {
+            return csvToBean.parse().stream().map(QuestionDto::toDomainObject).toList();
+        } catch (RuntimeException e) {
+            throw new QuestionReadException(ERROR_PARSING_FILE, e);
+        }
+    }
+}
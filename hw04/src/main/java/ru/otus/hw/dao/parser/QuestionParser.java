@@ -0,0 +1,12 @@
+package ru.otus.hw.dao.parser;
+
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+public interface QuestionParser {
+    // Разбирает вопросы в формате text;answer%isCorrect|answer%isCorrect, первая строка файла - заголовок
+    List<Question> parse(Reader reader) throws IOException;
+}
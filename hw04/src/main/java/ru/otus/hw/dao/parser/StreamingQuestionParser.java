@@ -0,0 +1,207 @@
+package ru.otus.hw.dao.parser;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Разбор вопросов за один проход по буферу символов, без рефлексии opencsv, регулярных выражений
+ * и промежуточных массивов {@code String.split}. На каждый вопрос создаются только строки текста вопроса
+ * и ответов. Ошибки формата, как и у {@link OpenCsvQuestionParser}, оборачиваются в {@link QuestionReadException}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "test", name = "csv-parser", havingValue = "streaming")
+public class StreamingQuestionParser implements QuestionParser {
+
+    @Override
+    public List<Question> parse(Reader reader) throws IOException {
+        return new Scanner(reader).parse();
+    }
+
+    private static final class Scanner {
+        // Сообщение об ошибке при парсинге CSV.
+        private static final String ERROR_PARSING_FILE = "Error parsing CSV file";
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private static final int EOF = -1;
+
+        private static final char COLUMN_SEPARATOR = ';';
+
+        private static final char ANSWER_SEPARATOR = '|';
+
+        private static final char FLAG_SEPARATOR = '%';
+
+        private static final char QUOTE = '"';
+
+        private static final String TRUE = "true";
+
+        private final Reader reader;
+
+        private final char[] buffer = new char[BUFFER_SIZE];
+
+        // Переиспользуемый буфер для текущего поля
+        private final StringBuilder token = new StringBuilder();
+
+        private int position;
+
+        private int limit;
+
+        private int lineNumber = 1;
+
+        private Scanner(Reader reader) {
+            this.reader = reader;
+        }
+
+        private List<Question> parse() throws IOException {
+            // Первая строка - заголовок
+            skipLine();
+            List<Question> questions = new ArrayList<>();
+            int c;
+            while ((c = peek()) != EOF) {
+                if (isLineEnd(c)) {
+                    skipLine();
+                    continue;
+                }
+                questions.add(readQuestion());
+            }
+            return questions;
+        }
+
+        private Question readQuestion() throws IOException {
+            int terminator = readToken(false);
+            String text = token.toString();
+            if (terminator != COLUMN_SEPARATOR) {
+                throw error("question '%s' has no answers".formatted(text));
+            }
+
+            List<Answer> answers = new ArrayList<>(4);
+            do {
+                terminator = readToken(true);
+                String answerText = token.toString();
+                if (terminator != FLAG_SEPARATOR) {
+                    throw error("answer '%s' has no correctness flag".formatted(answerText));
+                }
+                terminator = readToken(true);
+                if (token.isEmpty()) {
+                    throw error("answer '%s' has empty correctness flag".formatted(answerText));
+                }
+                answers.add(new Answer(answerText, isTrue()));
+                // Как и String.split в AnswerCsvConverter, все после второго '%' игнорируется
+                while (terminator == FLAG_SEPARATOR) {
+                    terminator = readToken(true);
+                }
+            } while (terminator == ANSWER_SEPARATOR);
+
+            // Лишние колонки, как и в opencsv, игнорируются
+            if (terminator == COLUMN_SEPARATOR) {
+                skipLine();
+            } else if (terminator != EOF) {
+                consumeLineEnd();
+            }
+            return new Question(text, answers);
+        }
+
+        /**
+         * Читает поле в {@link #token} до разделителя и возвращает его (или конец строки/файла, сам
+         * перевод строки не потребляется). Разделители ответов учитываются только в колонке ответов
+         * и только вне кавычек, так что текст ответа в кавычках может содержать '|' и '%'.
+         */
+        private int readToken(boolean answersColumn) throws IOException {
+            token.setLength(0);
+            boolean quoted = false;
+            int c;
+            while ((c = peek()) != EOF) {
+                if (c == QUOTE) {
+                    position++;
+                    if (quoted && peek() == QUOTE) {
+                        token.append(QUOTE);
+                        position++;
+                    } else {
+                        quoted = !quoted;
+                    }
+                    continue;
+                }
+                if (!quoted && (c == COLUMN_SEPARATOR || isLineEnd(c))) {
+                    break;
+                }
+                if (!quoted && answersColumn && (c == ANSWER_SEPARATOR || c == FLAG_SEPARATOR)) {
+                    break;
+                }
+                if (c == '\n') {
+                    lineNumber++;
+                }
+                token.append((char) c);
+                position++;
+            }
+            if (quoted) {
+                throw error("unterminated quoted field");
+            }
+            if (c == EOF || isLineEnd(c)) {
+                return c == EOF ? EOF : '\n';
+            }
+            position++;
+            return c;
+        }
+
+        private boolean isTrue() {
+            if (token.length() != TRUE.length()) {
+                return false;
+            }
+            for (int i = 0; i < TRUE.length(); i++) {
+                if (Character.toLowerCase(token.charAt(i)) != TRUE.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void skipLine() throws IOException {
+            int c;
+            while ((c = peek()) != EOF && !isLineEnd(c)) {
+                position++;
+            }
+            consumeLineEnd();
+        }
+
+        private void consumeLineEnd() throws IOException {
+            int c = peek();
+            if (c == '\r') {
+                position++;
+                c = peek();
+            }
+            if (c == '\n') {
+                position++;
+            }
+            lineNumber++;
+        }
+
+        private int peek() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return EOF;
+                }
+            }
+            return buffer[position];
+        }
+
+        private static boolean isLineEnd(int c) {
+            return c == '\n' || c == '\r';
+        }
+
+        private QuestionReadException error(String message) {
+            return new QuestionReadException(ERROR_PARSING_FILE,
+                    new IllegalArgumentException("Line %d: %s".formatted(lineNumber, message)));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.otus.hw.dao.results;
+
+// Ответы на вопрос с номером questionIndex в файле questionFileName за все попытки
+public record QuestionStatistics(String questionFileName, int questionIndex, int rightAnswersCount,
+                                 int wrongAnswersCount) {
+
+    public int answersCount() {
+        return rightAnswersCount + wrongAnswersCount;
+    }
+
+    public double rightAnswersRate() {
+        int answersCount = answersCount();
+        return answersCount == 0 ? 0 : (double) rightAnswersCount / answersCount;
+    }
+}
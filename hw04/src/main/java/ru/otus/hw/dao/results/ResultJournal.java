@@ -0,0 +1,445 @@
+package ru.otus.hw.dao.results;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.ResultJournalConfig;
+import ru.otus.hw.domain.TestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Журнал завершенных попыток, отображенный в память. Попытки только дописываются в конец,
+ * а счетчики правильных и неправильных ответов по каждому вопросу лежат в том же файле вне кучи
+ * и обновляются при каждой записи, поэтому статистика не требует перечитывания истории.
+ * <p>
+ * Вопрос определяется файлом с вопросами и номером в этом файле: у каждой темы и локали своя нумерация
+ * и свои счетчики. Счетчики файла лежат отдельным блоком в соседнем файле {@code <журнал>.counters};
+ * когда номер вопроса не помещается в блок, блок переносится в конец этого файла с удвоенной емкостью,
+ * поэтому размер банка вопросов журнал не ограничивает.
+ * <p>
+ * Формат файла (big-endian):
+ * <pre>
+ * int          MAGIC
+ * int          VERSION
+ * int          количество слотов под файлы с вопросами F
+ * int          резерв
+ * long         количество записей
+ * long         количество сданных попыток
+ * F записей    byte длина имени файла с вопросами, имя в UTF-8 (FILE_NAME_SIZE байт на файл)
+ * F записей    long смещение блока счетчиков файла в файле счетчиков, int емкость блока C, резерв
+ * записи по RECORD_SIZE байт, начиная с RECORDS_OFFSET
+ * </pre>
+ * Блок счетчиков - int[C][2]: правильные и неправильные ответы по номеру вопроса в файле.
+ * Запись: long время, int число ответов, int число правильных, byte сдано, byte длина имени,
+ * резерв, long маска правильных ответов, int[MAX_RECORDED_ANSWERS] номера вопросов,
+ * byte[MAX_RECORDED_ANSWERS] номера файлов с вопросами, имя студента в UTF-8.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResultJournal implements DisposableBean {
+
+    static final int MAGIC = 0x524A4E4C;
+
+    static final int VERSION = 4;
+
+    // Емкость первого блока счетчиков файла с вопросами, дальше она удваивается
+    static final int INITIAL_QUESTION_SLOTS = 1024;
+
+    // Блок счетчиков отображается в память одним куском, поэтому его размер должен помещаться в int
+    static final int MAX_QUESTION_SLOTS = 1 << 27;
+
+    // Сколько разных файлов с вопросами (локалей и тем) помещается в журнал
+    static final int FILE_SLOTS = 32;
+
+    static final int FILE_NAME_SIZE = 64;
+
+    // Сколько ответов одной попытки сохраняется в записи (по маске в long)
+    static final int MAX_RECORDED_ANSWERS = Long.SIZE;
+
+    static final int RECORD_SIZE = 512;
+
+    private static final int FILE_SLOTS_OFFSET = Integer.BYTES * 2;
+
+    private static final int RECORD_COUNT_OFFSET = Integer.BYTES * 4;
+
+    private static final int PASSED_COUNT_OFFSET = RECORD_COUNT_OFFSET + Long.BYTES;
+
+    private static final int FILE_NAMES_OFFSET = PASSED_COUNT_OFFSET + Long.BYTES;
+
+    private static final int COUNTER_BLOCKS_OFFSET = FILE_NAMES_OFFSET + FILE_SLOTS * FILE_NAME_SIZE;
+
+    private static final int COUNTER_BLOCK_SIZE = Long.BYTES * 2;
+
+    private static final int HEADER_SIZE = COUNTER_BLOCKS_OFFSET + FILE_SLOTS * COUNTER_BLOCK_SIZE;
+
+    private static final int COUNTERS_SIZE = Integer.BYTES * 2;
+
+    // Записи начинаются с границы страницы
+    private static final int RECORDS_OFFSET = (HEADER_SIZE + 4095) / 4096 * 4096;
+
+    // Файл растет и отображается в память кусками по столько записей
+    private static final int RECORDS_PER_CHUNK = 4096;
+
+    private static final int RECORD_ANSWERS_COUNT = Long.BYTES;
+
+    private static final int RECORD_RIGHT_ANSWERS_COUNT = RECORD_ANSWERS_COUNT + Integer.BYTES;
+
+    private static final int RECORD_PASSED = RECORD_RIGHT_ANSWERS_COUNT + Integer.BYTES;
+
+    private static final int RECORD_NAME_LENGTH = RECORD_PASSED + 1;
+
+    private static final int RECORD_RIGHT_ANSWERS_MASK = Long.BYTES * 3;
+
+    private static final int RECORD_QUESTION_INDEXES = RECORD_RIGHT_ANSWERS_MASK + Long.BYTES;
+
+    private static final int RECORD_QUESTION_FILES = RECORD_QUESTION_INDEXES + MAX_RECORDED_ANSWERS * Integer.BYTES;
+
+    private static final int RECORD_NAME = RECORD_QUESTION_FILES + MAX_RECORDED_ANSWERS;
+
+    // Длина имени хранится в одном байте
+    private static final int MAX_NAME_LENGTH = Byte.MAX_VALUE;
+
+    private final ResultJournalConfig resultJournalConfig;
+
+    private FileChannel channel;
+
+    private FileChannel countersChannel;
+
+    private MappedByteBuffer header;
+
+    private MappedByteBuffer currentChunk;
+
+    private long currentChunkIndex = -1;
+
+    private final CharsetEncoder nameEncoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final ByteBuffer nameBuffer = ByteBuffer.allocate(MAX_NAME_LENGTH);
+
+    // Имена файлов с вопросами по номеру слота, копия таблицы из заголовка
+    private final List<String> questionFileNames = new ArrayList<>();
+
+    private final Map<String, Integer> questionFileSlots = new HashMap<>();
+
+    // Отображенные блоки счетчиков по номеру слота файла с вопросами
+    private final List<MappedByteBuffer> counterBlocks = new ArrayList<>();
+
+    /**
+     * Дописывает завершенную попытку и обновляет счетчики по вопросам.
+     *
+     * @throws IllegalArgumentException если номер вопроса отрицательный или не меньше MAX_QUESTION_SLOTS
+     */
+    public synchronized void append(TestResult testResult, boolean passed) {
+        ensureOpen();
+        validate(testResult);
+        appendRecord(testResult, passed);
+    }
+
+    /**
+     * Дописывает пачку попыток под одной блокировкой; попытки без ответов пропускаются.
+     * Пачка проверяется целиком до записи, поэтому ошибка не оставляет ее дописанной наполовину.
+     */
+    public synchronized void appendAll(List<TestResult> testResults) {
+        ensureOpen();
+        testResults.forEach(this::validate);
+        for (TestResult testResult : testResults) {
+            if (!testResult.getAnsweredQuestions().isEmpty()) {
+                appendRecord(testResult, testResult.isPassed());
+            }
+        }
+    }
+
+    /**
+     * Возвращает сводку по попыткам и limit самых сложных вопросов, читая только счетчики.
+     */
+    public synchronized ResultStatistics getStatistics(int limit) {
+        ensureOpen();
+        List<QuestionStatistics> answeredQuestions = new ArrayList<>();
+        for (int fileSlot = 0; fileSlot < questionFileNames.size(); fileSlot++) {
+            addAnsweredQuestionStatistics(fileSlot, answeredQuestions);
+        }
+        List<QuestionStatistics> hardestQuestions = answeredQuestions.stream()
+                .sorted(Comparator.comparingDouble(QuestionStatistics::rightAnswersRate)
+                        .thenComparing(Comparator.comparingInt(QuestionStatistics::answersCount).reversed()))
+                .limit(limit)
+                .toList();
+        return new ResultStatistics(header.getLong(RECORD_COUNT_OFFSET), header.getLong(PASSED_COUNT_OFFSET),
+                hardestQuestions);
+    }
+
+    /**
+     * Счетчики по всем вопросам файла, на которые хоть раз отвечали, по возрастанию номера вопроса.
+     */
+    public synchronized List<QuestionStatistics> getAnsweredQuestionStatistics(String questionFileName) {
+        ensureOpen();
+        Integer fileSlot = questionFileSlots.get(questionFileName);
+        List<QuestionStatistics> answeredQuestions = new ArrayList<>();
+        if (fileSlot != null) {
+            addAnsweredQuestionStatistics(fileSlot, answeredQuestions);
+        }
+        return answeredQuestions;
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (channel != null) {
+            header.force();
+            if (currentChunk != null) {
+                currentChunk.force();
+            }
+            counterBlocks.forEach(MappedByteBuffer::force);
+            counterBlocks.clear();
+            countersChannel.close();
+            countersChannel = null;
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // Номера вопросов и файлы проверяются, а блоки счетчиков растут до записи,
+    // чтобы ошибка не оставила половину счетчиков
+    private void validate(TestResult testResult) {
+        for (int i = 0; i < testResult.getAnsweredQuestions().size(); i++) {
+            int questionIndex = testResult.getQuestionIndex(i);
+            if (questionIndex < 0 || questionIndex >= MAX_QUESTION_SLOTS) {
+                throw new IllegalArgumentException("Results journal can't count question #%d of '%s', max is %d"
+                        .formatted(questionIndex, testResult.getQuestionFileName(i), MAX_QUESTION_SLOTS - 1));
+            }
+            ensureCounterCapacity(getFileSlot(testResult.getQuestionFileName(i)), questionIndex);
+        }
+    }
+
+    private void appendRecord(TestResult testResult, boolean passed) {
+        int answersCount = testResult.getAnsweredQuestions().size();
+        long recordCount = header.getLong(RECORD_COUNT_OFFSET);
+        ByteBuffer chunk = getChunk(recordCount / RECORDS_PER_CHUNK);
+        int position = (int) (recordCount % RECORDS_PER_CHUNK) * RECORD_SIZE;
+
+        chunk.putLong(position, System.currentTimeMillis());
+        chunk.putInt(position + RECORD_ANSWERS_COUNT, answersCount);
+        chunk.putInt(position + RECORD_RIGHT_ANSWERS_COUNT, testResult.getRightAnswersCount());
+        chunk.put(position + RECORD_PASSED, (byte) (passed ? 1 : 0));
+
+        long rightAnswersMask = 0;
+        for (int i = 0; i < Math.min(answersCount, MAX_RECORDED_ANSWERS); i++) {
+            chunk.putInt(position + RECORD_QUESTION_INDEXES + i * Integer.BYTES, testResult.getQuestionIndex(i));
+            chunk.put(position + RECORD_QUESTION_FILES + i, (byte) getFileSlot(testResult.getQuestionFileName(i)));
+            rightAnswersMask |= testResult.isRightAnswer(i) ? 1L << i : 0;
+        }
+        chunk.putLong(position + RECORD_RIGHT_ANSWERS_MASK, rightAnswersMask);
+        writeStudentName(chunk, position, testResult.getStudent().getFullName());
+
+        // Сначала публикуется запись, потом обновляются счетчики: при сбое между ними
+        // счетчики могут отстать от записей, но не учтут попытку, которой в журнале нет
+        header.putLong(RECORD_COUNT_OFFSET, recordCount + 1);
+        if (passed) {
+            header.putLong(PASSED_COUNT_OFFSET, header.getLong(PASSED_COUNT_OFFSET) + 1);
+        }
+        for (int i = 0; i < answersCount; i++) {
+            incrementCounter(getFileSlot(testResult.getQuestionFileName(i)), testResult.getQuestionIndex(i),
+                    testResult.isRightAnswer(i));
+        }
+    }
+
+    private void addAnsweredQuestionStatistics(int fileSlot, List<QuestionStatistics> answeredQuestions) {
+        String questionFileName = questionFileNames.get(fileSlot);
+        ByteBuffer counters = counterBlocks.get(fileSlot);
+        if (counters == null) {
+            return;
+        }
+        for (int questionIndex = 0; questionIndex < getCounterCapacity(fileSlot); questionIndex++) {
+            int rightAnswersCount = counters.getInt(questionIndex * COUNTERS_SIZE);
+            int wrongAnswersCount = counters.getInt(questionIndex * COUNTERS_SIZE + Integer.BYTES);
+            if (rightAnswersCount + wrongAnswersCount > 0) {
+                answeredQuestions.add(new QuestionStatistics(questionFileName, questionIndex,
+                        rightAnswersCount, wrongAnswersCount));
+            }
+        }
+    }
+
+    private void incrementCounter(int fileSlot, int questionIndex, boolean rightAnswer) {
+        ByteBuffer counters = counterBlocks.get(fileSlot);
+        int counterOffset = questionIndex * COUNTERS_SIZE + (rightAnswer ? 0 : Integer.BYTES);
+        counters.putInt(counterOffset, counters.getInt(counterOffset) + 1);
+    }
+
+    private int getCounterCapacity(int fileSlot) {
+        return header.getInt(COUNTER_BLOCKS_OFFSET + fileSlot * COUNTER_BLOCK_SIZE + Long.BYTES);
+    }
+
+    // Переносит счетчики файла в новый блок в конце файла счетчиков, удваивая емкость до нужного номера.
+    // Заголовок переключается на новый блок только после копирования, старый блок остается неиспользуемым
+    private void ensureCounterCapacity(int fileSlot, int questionIndex) {
+        int capacity = getCounterCapacity(fileSlot);
+        if (questionIndex < capacity) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, INITIAL_QUESTION_SLOTS);
+        while (newCapacity <= questionIndex) {
+            newCapacity *= 2;
+        }
+        try {
+            long blockOffset = countersChannel.size();
+            MappedByteBuffer newBlock = countersChannel.map(FileChannel.MapMode.READ_WRITE, blockOffset,
+                    (long) newCapacity * COUNTERS_SIZE);
+            MappedByteBuffer oldBlock = counterBlocks.get(fileSlot);
+            if (oldBlock != null) {
+                newBlock.put(0, oldBlock, 0, capacity * COUNTERS_SIZE);
+            }
+            int blockHeaderOffset = COUNTER_BLOCKS_OFFSET + fileSlot * COUNTER_BLOCK_SIZE;
+            header.putLong(blockHeaderOffset, blockOffset);
+            header.putInt(blockHeaderOffset + Long.BYTES, newCapacity);
+            counterBlocks.set(fileSlot, newBlock);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MappedByteBuffer mapCounterBlock(int fileSlot) throws IOException {
+        int capacity = getCounterCapacity(fileSlot);
+        if (capacity == 0) {
+            return null;
+        }
+        long blockOffset = header.getLong(COUNTER_BLOCKS_OFFSET + fileSlot * COUNTER_BLOCK_SIZE);
+        return countersChannel.map(FileChannel.MapMode.READ_WRITE, blockOffset, (long) capacity * COUNTERS_SIZE);
+    }
+
+    // Номер слота файла с вопросами; новый файл занимает следующий свободный слот
+    private int getFileSlot(String questionFileName) {
+        Integer fileSlot = questionFileSlots.get(questionFileName);
+        if (fileSlot != null) {
+            return fileSlot;
+        }
+        if (questionFileName == null) {
+            throw new IllegalArgumentException("Question file of the answer is unknown");
+        }
+        byte[] encodedName = questionFileName.getBytes(StandardCharsets.UTF_8);
+        if (encodedName.length >= FILE_NAME_SIZE) {
+            throw new IllegalArgumentException("Question file name is too long for results journal: "
+                    + questionFileName);
+        }
+        if (questionFileNames.size() == FILE_SLOTS) {
+            throw new IllegalStateException("Results journal can't hold more than " + FILE_SLOTS + " question files");
+        }
+        int newFileSlot = questionFileNames.size();
+        int nameOffset = FILE_NAMES_OFFSET + newFileSlot * FILE_NAME_SIZE;
+        header.put(nameOffset + 1, encodedName);
+        header.put(nameOffset, (byte) encodedName.length);
+        questionFileNames.add(questionFileName);
+        questionFileSlots.put(questionFileName, newFileSlot);
+        counterBlocks.add(null);
+        return newFileSlot;
+    }
+
+    private void readFileNames() throws IOException {
+        questionFileNames.clear();
+        questionFileSlots.clear();
+        counterBlocks.clear();
+        for (int fileSlot = 0; fileSlot < FILE_SLOTS; fileSlot++) {
+            int nameOffset = FILE_NAMES_OFFSET + fileSlot * FILE_NAME_SIZE;
+            int nameLength = header.get(nameOffset);
+            if (nameLength == 0) {
+                return;
+            }
+            byte[] encodedName = new byte[nameLength];
+            header.get(nameOffset + 1, encodedName);
+            String questionFileName = new String(encodedName, StandardCharsets.UTF_8);
+            questionFileNames.add(questionFileName);
+            questionFileSlots.put(questionFileName, fileSlot);
+            counterBlocks.add(mapCounterBlock(fileSlot));
+        }
+    }
+
+    private void writeStudentName(ByteBuffer chunk, int position, String fullName) {
+        // Кодируем не больше MAX_NAME_LENGTH байт, не разрезая многобайтовые символы
+        nameBuffer.clear();
+        nameEncoder.reset().encode(CharBuffer.wrap(fullName), nameBuffer, true);
+        nameBuffer.flip();
+        chunk.put(position + RECORD_NAME_LENGTH, (byte) nameBuffer.remaining());
+        chunk.put(position + RECORD_NAME, nameBuffer, 0, nameBuffer.remaining());
+    }
+
+    private ByteBuffer getChunk(long chunkIndex) {
+        if (chunkIndex != currentChunkIndex) {
+            try {
+                // Отображение за концом файла увеличивает его до нужного размера
+                currentChunk = channel.map(FileChannel.MapMode.READ_WRITE,
+                        RECORDS_OFFSET + chunkIndex * RECORDS_PER_CHUNK * RECORD_SIZE,
+                        (long) RECORDS_PER_CHUNK * RECORD_SIZE);
+                currentChunkIndex = chunkIndex;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return currentChunk;
+    }
+
+    private void ensureOpen() {
+        if (channel != null) {
+            return;
+        }
+        Path path = Path.of(resultJournalConfig.getResultJournalFile());
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean created = channel.size() == 0;
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (created) {
+                header.putInt(0, MAGIC);
+                header.putInt(Integer.BYTES, VERSION);
+                header.putInt(FILE_SLOTS_OFFSET, FILE_SLOTS);
+            } else if (header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION
+                    || header.getInt(FILE_SLOTS_OFFSET) != FILE_SLOTS) {
+                closeChannels();
+                throw new IllegalStateException("Unsupported results journal file: " + path);
+            }
+            countersChannel = FileChannel.open(getCountersFile(path),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            readFileNames();
+        } catch (IOException e) {
+            closeChannels();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path getCountersFile(Path journalFile) {
+        return journalFile.resolveSibling(journalFile.getFileName() + ".counters");
+    }
+
+    private void closeChannels() {
+        try {
+            if (countersChannel != null) {
+                countersChannel.close();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            // Журнал не открылся, ошибка открытия важнее ошибки закрытия
+        } finally {
+            countersChannel = null;
+            channel = null;
+        }
+    }
+}
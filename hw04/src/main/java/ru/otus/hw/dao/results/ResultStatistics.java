@@ -0,0 +1,15 @@
+package ru.otus.hw.dao.results;
+
+import java.util.List;
+
+/**
+ * Сводка по журналу результатов.
+ *
+ * @param hardestQuestions вопросы с наименьшей долей правильных ответов, начиная с самого сложного
+ */
+public record ResultStatistics(long attemptsCount, long passedCount, List<QuestionStatistics> hardestQuestions) {
+
+    public double passRate() {
+        return attemptsCount == 0 ? 0 : (double) passedCount / attemptsCount;
+    }
+}
@@ -2,5 +2,65 @@ package ru.otus.hw.domain;
 
 import java.util.List;
 
-public record Question(String text, List<Answer> answers) {
+/**
+ * Вопрос с вариантами ответа. Правильные варианты заранее собраны в маску: бит i - вариант с индексом i,
+ * поэтому проверка выбора студента - одно сравнение, а частичный балл - битовые операции.
+ */
+public record Question(String text, List<Answer> answers, long correctAnswersMask) {
+
+    // Больше вариантов в маску long не поместится
+    public static final int MAX_ANSWERS = Long.SIZE;
+
+    public Question {
+        if (answers.size() > MAX_ANSWERS) {
+            throw new IllegalArgumentException("Question can't have more than " + MAX_ANSWERS + " answers");
+        }
+        if (correctAnswersMask != correctAnswersMaskOf(answers)) {
+            throw new IllegalArgumentException("Correct answers mask doesn't match answers");
+        }
+    }
+
+    public Question(String text, List<Answer> answers) {
+        this(text, answers, correctAnswersMaskOf(answers));
+    }
+
+    // Выбор одного варианта в виде маски
+    public static long selectionOf(int answerIndex) {
+        return 1L << answerIndex;
+    }
+
+    public boolean isMultipleChoice() {
+        return Long.bitCount(correctAnswersMask) > 1;
+    }
+
+    // Ответ засчитывается, только если выбраны ровно все правильные варианты
+    public boolean isRightSelection(long selection) {
+        return selection == correctAnswersMask;
+    }
+
+    /**
+     * Частичный балл от 0 до 1: доля выбранных правильных вариантов за вычетом доли выбранных неправильных.
+     */
+    public double partialCredit(long selection) {
+        int correctCount = Long.bitCount(correctAnswersMask);
+        if (correctCount == 0) {
+            return 0;
+        }
+        int rightSelected = Long.bitCount(selection & correctAnswersMask);
+        int wrongSelected = Long.bitCount(selection & ~correctAnswersMask);
+        int wrongCount = answers.size() - correctCount;
+        double credit = (double) rightSelected / correctCount
+                - (wrongCount == 0 ? 0 : (double) wrongSelected / wrongCount);
+        return Math.max(0, credit);
+    }
+
+    private static long correctAnswersMaskOf(List<Answer> answers) {
+        long mask = 0;
+        for (int i = 0; i < answers.size() && i < MAX_ANSWERS; i++) {
+            if (answers.get(i).isCorrect()) {
+                mask |= selectionOf(i);
+            }
+        }
+        return mask;
+    }
 }
@@ -1,32 +1,101 @@
 package ru.otus.hw.domain;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 @Data
 public class TestResult {
+    private static final int INITIAL_CAPACITY = 16;
+
     private final Student student;
 
     private final List<Question> answeredQuestions;
 
     private int rightAnswersCount;
 
+    // Сумма частичных баллов, см. Question#partialCredit; без вопросов с несколькими ответами равна rightAnswersCount
+    private double score;
+
+    // Порог для заданного набора вопросов, см. TestServiceImpl
+    private int rightAnswersCountToPass;
+
+    // Номера вопросов в их файлах по порядку ответов
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private int[] questionIndexes = new int[INITIAL_CAPACITY];
+
+    // Файлы с вопросами по порядку ответов: у каждой темы и локали своя нумерация вопросов
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String[] questionFileNames = new String[INITIAL_CAPACITY];
+
+    // Правильность ответов по порядку ответов
+    @ToString.Exclude
+    private final BitSet rightAnswers = new BitSet();
+
     public TestResult(Student student) {
         this.student = student;
         this.answeredQuestions = new ArrayList<>();
     }
 
-    public void applyAnswer(Question question, boolean isRightAnswer) {
+    // Ответ в виде маски выбранных вариантов
+    public void applyAnswer(String questionFileName, int questionIndex, Question question, long selection) {
+        boolean isRightAnswer = question.isRightSelection(selection);
+        applyAnswer(questionFileName, questionIndex, question, isRightAnswer);
+        if (!isRightAnswer) {
+            score += question.partialCredit(selection);
+        }
+    }
+
+    public void applyAnswer(String questionFileName, int questionIndex, Question question, boolean isRightAnswer) {
+        int answerNumber = answeredQuestions.size();
+        if (answerNumber == questionIndexes.length) {
+            questionIndexes = Arrays.copyOf(questionIndexes, answerNumber * 2);
+            questionFileNames = Arrays.copyOf(questionFileNames, answerNumber * 2);
+        }
+        questionIndexes[answerNumber] = questionIndex;
+        questionFileNames[answerNumber] = questionFileName;
         answeredQuestions.add(question);
         if (isRightAnswer) {
+            rightAnswers.set(answerNumber);
             rightAnswersCount++;
+            score++;
         }
     }
 
+    public int getQuestionIndex(int answerNumber) {
+        return questionIndexes[answerNumber];
+    }
+
+    public String getQuestionFileName(int answerNumber) {
+        return questionFileNames[answerNumber];
+    }
+
+    public boolean isRightAnswer(int answerNumber) {
+        return rightAnswers.get(answerNumber);
+    }
+
+    public boolean isPassed() {
+        return rightAnswersCount >= rightAnswersCountToPass;
+    }
+
     public void clearResults() {
         answeredQuestions.clear();
+        rightAnswers.clear();
         rightAnswersCount = 0;
+        score = 0;
     }
 }
@@ -0,0 +1,81 @@
+package ru.otus.hw.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек в наносекундах с логарифмически-линейными корзинами, как в HdrHistogram:
+ * значения до 128 хранятся точно, дальше на каждую степень двойки приходится 64 корзины,
+ * поэтому погрешность перцентилей не больше 1/64 (около 1.5%). Запись без блокировок, из любых потоков.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    // Корзины для всех неотрицательных long
+    private static final int BUCKET_COUNT = indexOf(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder totalCount = new LongAdder();
+
+    private final LongAccumulator maxValue = new LongAccumulator(Math::max, 0);
+
+    public void record(long value) {
+        long nonNegativeValue = Math.max(0, value);
+        counts.incrementAndGet(indexOf(nonNegativeValue));
+        totalCount.increment();
+        maxValue.accumulate(nonNegativeValue);
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * Значение, не меньше которого percentile процентов записанных значений (верхняя граница корзины).
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = getTotalCount();
+        if (total == 0) {
+            return 0;
+        }
+        long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+        long cumulativeCount = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            cumulativeCount += counts.get(index);
+            if (cumulativeCount >= countAtPercentile) {
+                return Math.min(highestValueOf(index), getMaxValue());
+            }
+        }
+        return getMaxValue();
+    }
+
+    // Значения [0, 128) - корзина на значение; дальше для старшего бита на позиции shift + 6
+    // корзина 64 * shift + (value >>> shift), где value >>> shift лежит в [64, 128)
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_HALF_COUNT * shift + (int) (value >>> shift);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long subBucket = index - (long) SUB_BUCKET_HALF_COUNT * shift;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.otus.hw.loadtest;
+
+/**
+ * Итоги нагрузочного теста.
+ *
+ * @param allocatedBytes память, выделенная потоками студентов, или -1, если JVM не умеет ее считать
+ */
+public record LoadTestReport(int studentsCount, long completedTestsCount, long failedTestsCount, long answersCount,
+                             long wallTimeNanos, LatencyHistogram questionLatencies, long allocatedBytes) {
+
+    public long wallTimeMillis() {
+        return wallTimeNanos / 1_000_000;
+    }
+
+    public double testsPerSecond() {
+        return perSecond(completedTestsCount);
+    }
+
+    public double answersPerSecond() {
+        return perSecond(answersCount);
+    }
+
+    public boolean isAllocationMeasured() {
+        return allocatedBytes >= 0;
+    }
+
+    public double allocatedBytesPerSecond() {
+        return perSecond(allocatedBytes);
+    }
+
+    public double allocatedBytesPerAnswer() {
+        return answersCount == 0 ? 0 : (double) allocatedBytes / answersCount;
+    }
+
+    private double perSecond(long count) {
+        return wallTimeNanos == 0 ? 0 : count * 1e9 / wallTimeNanos;
+    }
+}
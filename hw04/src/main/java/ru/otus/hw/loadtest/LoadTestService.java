@@ -0,0 +1,13 @@
+package ru.otus.hw.loadtest;
+
+public interface LoadTestService {
+
+    /**
+     * Прогоняет studentsCount одновременных симулированных студентов через настоящий TestRunnerService.
+     * Результаты пишутся во временный журнал и не попадают в статистику приложения.
+     *
+     * @param thinkTimeMillis средняя пауза студента перед ответом на вопрос
+     * @param seed            начальное значение генераторов случайных ответов
+     */
+    LoadTestReport run(int studentsCount, long thinkTimeMillis, long seed);
+}
@@ -0,0 +1,208 @@
+package ru.otus.hw.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.dao.results.ResultJournal;
+import ru.otus.hw.service.LocalizedIOServiceImpl;
+import ru.otus.hw.service.LocalizedMessagesServiceImpl;
+import ru.otus.hw.service.ResultServiceImpl;
+import ru.otus.hw.service.StudentServiceImpl;
+import ru.otus.hw.service.TestRunnerServiceImpl;
+import ru.otus.hw.service.TestServiceImpl;
+import ru.otus.hw.service.converters.QuestionConverter;
+import ru.otus.hw.service.messages.MessageTemplateRegistry;
+import ru.otus.hw.service.sampling.AdaptiveQuestionSampler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@RequiredArgsConstructor
+public class LoadTestServiceImpl implements LoadTestService {
+
+    // Каждый студент - отдельный платформенный поток, так что ограничиваем их число
+    static final int MAX_STUDENTS = 10_000;
+
+    private static final String JOURNAL_FILE_NAME = "load-test.journal";
+
+    private final MessageSource messageSource;
+
+    private final MessageTemplateRegistry messageTemplateRegistry;
+
+    private final QuestionDao questionDao;
+
+    private final QuestionConverter questionConverter;
+
+    private final TestConfig testConfig;
+
+    private final TestFileNameProvider testFileNameProvider;
+
+    private final LocaleConfig localeConfig;
+
+    @Override
+    public LoadTestReport run(int studentsCount, long thinkTimeMillis, long seed) {
+        if (studentsCount < 1 || studentsCount > MAX_STUDENTS) {
+            throw new IllegalArgumentException("Students count must be between 1 and " + MAX_STUDENTS);
+        }
+        if (thinkTimeMillis < 0) {
+            throw new IllegalArgumentException("Think time must not be negative");
+        }
+
+        Path journalDirectory = createJournalDirectory();
+        var resultJournal = new ResultJournal(() -> journalDirectory.resolve(JOURNAL_FILE_NAME).toString());
+        try {
+            // Свой выборщик, чтобы ответы симулированных студентов не меняли веса вопросов приложения
+            var run = new LoadTestRun(thinkTimeMillis, seed, resultJournal,
+                    new AdaptiveQuestionSampler(resultJournal));
+            return run.execute(studentsCount);
+        } finally {
+            closeQuietly(resultJournal, journalDirectory);
+        }
+    }
+
+    private static Path createJournalDirectory() {
+        try {
+            return Files.createTempDirectory("hw04-load-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void closeQuietly(ResultJournal resultJournal, Path journalDirectory) {
+        try {
+            resultJournal.destroy();
+            // Кроме журнала в каталоге лежит файл его счетчиков
+            try (var files = Files.list(journalDirectory)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(journalDirectory);
+        } catch (IOException e) {
+            // Временный журнал удалит ОС
+        }
+    }
+
+    // Память, выделенная текущим потоком, или -1, если JVM ее не считает
+    private static long currentThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported()
+                && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private class LoadTestRun {
+
+        private final long thinkTimeNanos;
+
+        private final long seed;
+
+        private final ResultJournal resultJournal;
+
+        private final AdaptiveQuestionSampler questionSampler;
+
+        private final LatencyHistogram questionLatencies = new LatencyHistogram();
+
+        private final CountDownLatch startGate = new CountDownLatch(1);
+
+        private final LongAdder completedTestsCount = new LongAdder();
+
+        private final LongAdder failedTestsCount = new LongAdder();
+
+        private final LongAdder answersCount = new LongAdder();
+
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private final AtomicBoolean allocationMeasured = new AtomicBoolean(true);
+
+        LoadTestRun(long thinkTimeMillis, long seed, ResultJournal resultJournal,
+                    AdaptiveQuestionSampler questionSampler) {
+            this.thinkTimeNanos = TimeUnit.MILLISECONDS.toNanos(thinkTimeMillis);
+            this.seed = seed;
+            this.resultJournal = resultJournal;
+            this.questionSampler = questionSampler;
+        }
+
+        LoadTestReport execute(int studentsCount) {
+            List<Thread> students = new ArrayList<>(studentsCount);
+            for (int i = 0; i < studentsCount; i++) {
+                int studentNumber = i + 1;
+                Thread student = new Thread(() -> runStudent(studentNumber), "load-test-student-" + studentNumber);
+                student.setDaemon(true);
+                student.start();
+                students.add(student);
+            }
+
+            // Все студенты начинают одновременно, когда потоки уже созданы
+            long startNanos = System.nanoTime();
+            startGate.countDown();
+            try {
+                for (Thread student : students) {
+                    student.join();
+                }
+            } catch (InterruptedException e) {
+                students.forEach(Thread::interrupt);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Load test interrupted", e);
+            }
+            long wallTimeNanos = System.nanoTime() - startNanos;
+
+            return new LoadTestReport(studentsCount, completedTestsCount.sum(), failedTestsCount.sum(),
+                    answersCount.sum(), wallTimeNanos, questionLatencies,
+                    allocationMeasured.get() ? allocatedBytes.sum() : -1);
+        }
+
+        private void runStudent(int studentNumber) {
+            try {
+                startGate.await();
+            } catch (InterruptedException e) {
+                failedTestsCount.increment();
+                return;
+            }
+
+            long allocatedBytesBefore = currentThreadAllocatedBytes();
+            var studentIOService = new ScriptedStudentIOService("Student", String.valueOf(studentNumber),
+                    new SplittableRandom(seed + studentNumber), thinkTimeNanos, questionLatencies);
+            try {
+                // Сервисы собираются так же, как в сессии сервера, только ввод-вывод симулированный
+                var ioService = new LocalizedIOServiceImpl(
+                        new LocalizedMessagesServiceImpl(localeConfig, messageSource, messageTemplateRegistry),
+                        studentIOService);
+                var studentService = new StudentServiceImpl(ioService);
+                var testService = new TestServiceImpl(ioService, questionDao, questionConverter, testConfig,
+                        testFileNameProvider, questionSampler);
+                var resultService = new ResultServiceImpl(ioService);
+                studentService.logIn();
+                new TestRunnerServiceImpl(testService, studentService, resultService, resultJournal).run();
+                completedTestsCount.increment();
+            } catch (RuntimeException e) {
+                failedTestsCount.increment();
+            } finally {
+                answersCount.add(studentIOService.getAnswersCount());
+                long allocatedBytesAfter = currentThreadAllocatedBytes();
+                if (allocatedBytesBefore < 0 || allocatedBytesAfter < 0) {
+                    allocationMeasured.set(false);
+                } else {
+                    allocatedBytes.add(allocatedBytesAfter - allocatedBytesBefore);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.otus.hw.loadtest;
+
+import ru.otus.hw.service.EncodedLine;
+import ru.otus.hw.service.IOService;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.random.RandomGenerator;
+
+/**
+ * Ввод-вывод симулированного студента: вывод отбрасывается, ответы выбираются случайно после паузы на раздумье.
+ * Задержка вопроса - время от предыдущего ввода студента до следующего запроса ответа, то есть работа
+ * приложения без учета раздумий.
+ */
+class ScriptedStudentIOService implements IOService {
+
+    private final String firstName;
+
+    private final String lastName;
+
+    private final RandomGenerator random;
+
+    private final long thinkTimeNanos;
+
+    private final LatencyHistogram questionLatencies;
+
+    private int namesReadCount;
+
+    private int answersCount;
+
+    private long lastInputNanos = System.nanoTime();
+
+    ScriptedStudentIOService(String firstName, String lastName, RandomGenerator random, long thinkTimeNanos,
+                             LatencyHistogram questionLatencies) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.random = random;
+        this.thinkTimeNanos = thinkTimeNanos;
+        this.questionLatencies = questionLatencies;
+    }
+
+    int getAnswersCount() {
+        return answersCount;
+    }
+
+    @Override
+    public void printLine(String s) {
+    }
+
+    @Override
+    public void printLine(EncodedLine line) {
+    }
+
+    @Override
+    public Charset getOutputCharset() {
+        return StandardCharsets.UTF_8;
+    }
+
+    @Override
+    public void printFormattedLine(String s, Object... args) {
+    }
+
+    @Override
+    public String readString() {
+        String name = namesReadCount++ == 0 ? firstName : lastName;
+        lastInputNanos = System.nanoTime();
+        return name;
+    }
+
+    @Override
+    public String readStringWithPrompt(String prompt) {
+        return readString();
+    }
+
+    @Override
+    public int readIntForRange(int min, int max, String errorMessage) {
+        awaitAnswer();
+        return min + random.nextInt(max - min + 1);
+    }
+
+    @Override
+    public int readIntForRangeWithPrompt(int min, int max, String prompt, String errorMessage) {
+        return readIntForRange(min, max, errorMessage);
+    }
+
+    // Случайное непустое подмножество вариантов
+    @Override
+    public long readSelectionForRange(int min, int max, String errorMessage) {
+        awaitAnswer();
+        int answersInRange = max - min + 1;
+        long allAnswers = answersInRange == Long.SIZE ? -1L : (1L << answersInRange) - 1;
+        long selection;
+        do {
+            selection = random.nextLong() & allAnswers;
+        } while (selection == 0);
+        return selection;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    private void awaitAnswer() {
+        questionLatencies.record(System.nanoTime() - lastInputNanos);
+        answersCount++;
+        if (thinkTimeNanos > 0) {
+            // Разброс от половины до полутора заданных пауз, чтобы студенты не отвечали синхронно
+            long pauseNanos = thinkTimeNanos / 2 + random.nextLong(thinkTimeNanos + 1);
+            try {
+                Thread.sleep(pauseNanos / 1_000_000, (int) (pauseNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Load test interrupted", e);
+            }
+        }
+        lastInputNanos = System.nanoTime();
+    }
+}
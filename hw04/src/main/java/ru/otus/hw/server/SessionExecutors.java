@@ -0,0 +1,38 @@
+package ru.otus.hw.server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class SessionExecutors {
+
+    private SessionExecutors() {
+    }
+
+    /**
+     * Исполнитель "поток на сессию". Проект собирается под Java 17, поэтому виртуальные потоки
+     * берутся через рефлексию, если JVM их поддерживает (21+), иначе используются обычные потоки-демоны.
+     */
+    static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(new SessionThreadFactory());
+        }
+    }
+
+    private static class SessionThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "test-session-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
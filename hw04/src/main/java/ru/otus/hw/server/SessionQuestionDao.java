@@ -0,0 +1,32 @@
+package ru.otus.hw.server;
+
+import lombok.RequiredArgsConstructor;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Question;
+
+import java.util.List;
+
+// Общий банк вопросов, из которого сессия берет файл своей локали
+@RequiredArgsConstructor
+class SessionQuestionDao implements QuestionDao {
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final QuestionDao sharedQuestionDao;
+
+    @Override
+    public List<Question> findAll() {
+        return sharedQuestionDao.findAllByFileName(fileNameProvider.getTestFileName());
+    }
+
+    @Override
+    public List<Question> findAllByTopic(String topic) {
+        return sharedQuestionDao.findAllByFileName(fileNameProvider.getTopicFileName(topic));
+    }
+
+    @Override
+    public List<Question> findAllByFileName(String fileName) {
+        return sharedQuestionDao.findAllByFileName(fileName);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.otus.hw.server;
+
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Локаль и файл с вопросами отдельной сессии, не зависят от глобальных AppProperties
+class SessionSettings implements LocaleConfig, TestFileNameProvider {
+
+    private final Map<String, String> fileNameByLocaleTag;
+
+    private volatile Locale locale;
+
+    SessionSettings(Locale locale, Map<String, String> fileNameByLocaleTag) {
+        this.locale = locale;
+        this.fileNameByLocaleTag = fileNameByLocaleTag;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+
+    Set<String> getSupportedLocaleTags() {
+        return fileNameByLocaleTag.keySet();
+    }
+
+    boolean isSupported(Locale locale) {
+        return fileNameByLocaleTag.containsKey(locale.toLanguageTag());
+    }
+
+    @Override
+    public String getTestFileName() {
+        return fileNameByLocaleTag.get(locale.toLanguageTag());
+    }
+}
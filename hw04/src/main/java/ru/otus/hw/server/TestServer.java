@@ -0,0 +1,132 @@
+package ru.otus.hw.server;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TCP-сервер, позволяющий тестировать нескольких студентов одновременно.
+ * Каждое подключение обслуживается отдельной сессией в своем (по возможности виртуальном) потоке.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestServer implements DisposableBean {
+    // Очередь входящих подключений, пока акцептор не успел их принять
+    private static final int BACKLOG = 1024;
+
+    private final TestSessionFactory testSessionFactory;
+
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger activeSessionCount = new AtomicInteger();
+
+    private ServerSocket serverSocket;
+
+    private ExecutorService sessionExecutor;
+
+    /**
+     * Запускает сервер и возвращает фактический порт (при port = 0 выбирается свободный).
+     */
+    public synchronized int start(int port) throws IOException {
+        if (isRunning()) {
+            throw new IllegalStateException("Test server is already running on port " + getPort());
+        }
+        // Акцептор получает свои сокет и пул, а не читает поля: после stop() и нового start()
+        // они уже указывают на другой запуск сервера
+        ServerSocket server = new ServerSocket(port, BACKLOG);
+        ExecutorService executor = SessionExecutors.newSessionExecutor();
+        serverSocket = server;
+        sessionExecutor = executor;
+
+        Thread acceptor = new Thread(() -> acceptConnections(server, executor), "test-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server.getLocalPort();
+    }
+
+    public synchronized void stop() {
+        if (!isRunning()) {
+            return;
+        }
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Сокет уже закрыт
+        }
+        openSockets.forEach(TestServer::closeQuietly);
+        sessionExecutor.shutdownNow();
+        serverSocket = null;
+        sessionExecutor = null;
+    }
+
+    public synchronized boolean isRunning() {
+        return serverSocket != null && !serverSocket.isClosed();
+    }
+
+    public synchronized int getPort() {
+        return isRunning() ? serverSocket.getLocalPort() : -1;
+    }
+
+    public int getActiveSessionCount() {
+        return activeSessionCount.get();
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    private void acceptConnections(ServerSocket server, ExecutorService executor) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                openSockets.add(socket);
+                submitSession(executor, socket);
+            } catch (SocketException e) {
+                // Сервер остановлен
+                return;
+            } catch (IOException e) {
+                // Ошибка одного подключения не должна останавливать прием остальных
+            }
+        }
+    }
+
+    private void submitSession(ExecutorService executor, Socket socket) {
+        try {
+            executor.execute(() -> runSession(socket));
+        } catch (RejectedExecutionException e) {
+            // Сервер останавливается, новую сессию уже не начинаем
+            openSockets.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private void runSession(Socket socket) {
+        activeSessionCount.incrementAndGet();
+        try {
+            testSessionFactory.createSession(socket).run();
+        } finally {
+            activeSessionCount.decrementAndGet();
+            openSockets.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Сокет уже закрыт
+        }
+    }
+}
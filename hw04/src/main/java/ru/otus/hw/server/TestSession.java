@@ -0,0 +1,115 @@
+package ru.otus.hw.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.dao.results.ResultJournal;
+import ru.otus.hw.service.ChannelIOService;
+import ru.otus.hw.service.LocalizedIOService;
+import ru.otus.hw.service.LocalizedIOServiceImpl;
+import ru.otus.hw.service.LocalizedMessagesServiceImpl;
+import ru.otus.hw.service.ResultServiceImpl;
+import ru.otus.hw.service.StudentServiceImpl;
+import ru.otus.hw.service.TestRunnerServiceImpl;
+import ru.otus.hw.service.TestServiceImpl;
+import ru.otus.hw.service.converters.QuestionConverter;
+import ru.otus.hw.service.sampling.AdaptiveQuestionSampler;
+import ru.otus.hw.service.messages.MessageTemplateRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Тестирование одного студента, подключившегося к серверу.
+ * Сервисы создаются на каждую сессию, общими остаются только банк вопросов, конвертер и MessageSource.
+ */
+public class TestSession implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(TestSession.class);
+
+    private final Socket socket;
+
+    private final SessionSettings settings;
+
+    private final MessageSource messageSource;
+
+    private final MessageTemplateRegistry messageTemplateRegistry;
+
+    private final QuestionDao questionDao;
+
+    private final QuestionConverter questionConverter;
+
+    private final TestConfig testConfig;
+
+    private final ResultJournal resultJournal;
+
+    private final AdaptiveQuestionSampler questionSampler;
+
+    TestSession(Socket socket, SessionSettings settings, MessageSource messageSource,
+                MessageTemplateRegistry messageTemplateRegistry, QuestionDao questionDao,
+                QuestionConverter questionConverter, TestConfig testConfig, ResultJournal resultJournal,
+                AdaptiveQuestionSampler questionSampler) {
+        this.socket = socket;
+        this.settings = settings;
+        this.messageSource = messageSource;
+        this.messageTemplateRegistry = messageTemplateRegistry;
+        this.questionDao = questionDao;
+        this.questionConverter = questionConverter;
+        this.testConfig = testConfig;
+        this.resultJournal = resultJournal;
+        this.questionSampler = questionSampler;
+    }
+
+    @Override
+    public void run() {
+        try (socket) {
+            var ioService = new LocalizedIOServiceImpl(
+                    new LocalizedMessagesServiceImpl(settings, messageSource, messageTemplateRegistry),
+                    new ChannelIOService(Channels.newChannel(socket.getOutputStream()),
+                            Channels.newChannel(socket.getInputStream()), StandardCharsets.UTF_8));
+
+            chooseLocale(ioService);
+
+            var studentService = new StudentServiceImpl(ioService);
+            var testService = new TestServiceImpl(ioService, questionDao, questionConverter, testConfig, settings,
+                    questionSampler);
+            var resultService = new ResultServiceImpl(ioService);
+            studentService.logIn();
+            new TestRunnerServiceImpl(testService, studentService, resultService, resultJournal).run();
+
+            ioService.printLineLocalized("TestSession.goodbye");
+            ioService.flush();
+        } catch (NoSuchElementException e) {
+            // Поток ввода закончился: студент отключился, не дойдя до конца теста
+            log.debug("Session {} closed by student", socket.getRemoteSocketAddress());
+        } catch (IOException | UncheckedIOException e) {
+            // В том числе соединение, закрытое при остановке сервера
+            log.warn("Session {} aborted: {}", socket.getRemoteSocketAddress(), e.toString());
+        } catch (RuntimeException e) {
+            log.error("Session {} failed", socket.getRemoteSocketAddress(), e);
+        }
+    }
+
+    private void chooseLocale(LocalizedIOService ioService) {
+        String defaultTag = settings.getLocale().toLanguageTag();
+        String localeString = ioService.readStringWithPrompt(ioService.getMessage("TestSession.locale.prompt",
+                String.join(", ", settings.getSupportedLocaleTags()), defaultTag));
+        if (localeString.isBlank()) {
+            return;
+        }
+
+        Locale locale = Locale.forLanguageTag(localeString.trim().replace("_", "-"));
+        if (settings.isSupported(locale)) {
+            settings.setLocale(locale);
+        } else {
+            ioService.printFormattedLineLocalized("TestSession.locale.error", defaultTag);
+        }
+    }
+}
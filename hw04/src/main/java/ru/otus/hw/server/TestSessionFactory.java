@@ -0,0 +1,46 @@
+package ru.otus.hw.server;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameByLocaleProvider;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.dao.results.ResultJournal;
+import ru.otus.hw.service.converters.QuestionConverter;
+import ru.otus.hw.service.sampling.AdaptiveQuestionSampler;
+import ru.otus.hw.service.messages.MessageTemplateRegistry;
+
+import java.net.Socket;
+
+// Общие для всех сессий бины; состояние студента и локаль у каждой сессии свои
+@Component
+@RequiredArgsConstructor
+public class TestSessionFactory {
+
+    private final MessageSource messageSource;
+
+    private final MessageTemplateRegistry messageTemplateRegistry;
+
+    private final QuestionDao questionDao;
+
+    private final QuestionConverter questionConverter;
+
+    private final TestConfig testConfig;
+
+    private final ResultJournal resultJournal;
+
+    private final AdaptiveQuestionSampler questionSampler;
+
+    private final LocaleConfig localeConfig;
+
+    private final TestFileNameByLocaleProvider fileNameByLocaleProvider;
+
+    public TestSession createSession(Socket socket) {
+        var settings = new SessionSettings(localeConfig.getLocale(), fileNameByLocaleProvider.getFileNameByLocaleTag());
+        return new TestSession(socket, settings, messageSource, messageTemplateRegistry,
+                new SessionQuestionDao(settings, questionDao), questionConverter, testConfig, resultJournal,
+                questionSampler);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.otus.hw.service;
+
+/**
+ * Разбор выбора нескольких вариантов ответа вида "1, 3,4" в маску: бит 0 - вариант min.
+ * Разделители - запятые и пробелы, числа разбираются по символам без промежуточных строк и упаковки.
+ */
+public final class AnswerSelectionParser {
+
+    // Маска пустого или некорректного выбора
+    public static final long INVALID_SELECTION = 0;
+
+    private AnswerSelectionParser() {
+    }
+
+    public static long parse(CharSequence text, int min, int max) {
+        return parse(text, 0, text.length(), min, max);
+    }
+
+    /**
+     * Разбирает text[start, end). Если встретился посторонний символ или номер вне [min, max],
+     * возвращает INVALID_SELECTION.
+     */
+    public static long parse(CharSequence text, int start, int end, int min, int max) {
+        if (min < 0 || max < min || max - min >= Long.SIZE) {
+            throw new IllegalArgumentException("Selection range must fit in long mask: " + min + ".." + max);
+        }
+        long selection = 0;
+        int number = -1;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                number = (number < 0 ? 0 : number * 10) + (c - '0');
+                if (number > max) {
+                    return INVALID_SELECTION;
+                }
+            } else if (c == ',' || Character.isWhitespace(c)) {
+                if (number >= 0) {
+                    if (number < min) {
+                        return INVALID_SELECTION;
+                    }
+                    selection |= 1L << (number - min);
+                    number = -1;
+                }
+            } else {
+                return INVALID_SELECTION;
+            }
+        }
+        if (number >= 0) {
+            if (number < min) {
+                return INVALID_SELECTION;
+            }
+            selection |= 1L << (number - min);
+        }
+        return selection;
+    }
+}
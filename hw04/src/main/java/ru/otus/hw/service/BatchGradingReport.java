@@ -0,0 +1,18 @@
+package ru.otus.hw.service;
+
+/**
+ * Итоги пакетной проверки бланков.
+ *
+ * @param invalidAnswersCount строки, которые не удалось разобрать, и ответы на несуществующие вопросы или варианты
+ */
+public record BatchGradingReport(long sheetsCount, long passedCount, long answersCount, long rightAnswersCount,
+                                 long invalidAnswersCount, long wallTimeNanos) {
+
+    public long wallTimeMillis() {
+        return wallTimeNanos / 1_000_000;
+    }
+
+    public long sheetsPerSecond() {
+        return wallTimeNanos == 0 ? sheetsCount : sheetsCount * 1_000_000_000L / wallTimeNanos;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.otus.hw.service;
+
+import ru.otus.hw.domain.TestResult;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface BatchGradingService {
+
+    /**
+     * Проверяет бланки ответов из CSV без участия пользователя.
+     *
+     * @param resultsConsumer получает результаты бланков по кускам в порядке файла;
+     *                        вызывается только из потока, вызвавшего grade
+     */
+    BatchGradingReport grade(Path answerSheetFile, Consumer<List<TestResult>> resultsConsumer);
+}
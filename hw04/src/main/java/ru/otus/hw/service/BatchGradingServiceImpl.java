@@ -0,0 +1,318 @@
+package ru.otus.hw.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Пакетная проверка бланков ответов.
+ * <p>
+ * Формат файла: строка заголовка, затем строки "студент;номер вопроса;номер ответа" (номера с 1),
+ * для вопросов с несколькими правильными ответами номера ответов перечисляются через запятую.
+ * Бланк студента - подряд идущие строки с одинаковым студентом, повторный ответ на вопрос в бланке
+ * считается некорректным. Файл читается потоково в одном потоке, бланки собираются в куски и проверяются
+ * параллельно в ForkJoinPool, пока читается следующий кусок.
+ * <p>
+ * Без участия пользователя: java -jar hw04-semenov-spring-shell-1.0-exec.jar grade answers.csv
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchGradingServiceImpl implements BatchGradingService {
+    private static final char SEPARATOR = ';';
+
+    private static final int MIN_ANSWER_NUMBER = 1;
+
+    // Бланков в куске, который отдается на проверку, пока читается следующий
+    private static final int SHEETS_PER_CHUNK = 4096;
+
+    // Меньше этого кусок не делится между потоками
+    private static final int SHEETS_PER_TASK = 256;
+
+    private final QuestionDao questionDao;
+
+    private final TestConfig testConfig;
+
+    private final TestFileNameProvider testFileNameProvider;
+
+    @Override
+    public BatchGradingReport grade(Path answerSheetFile, Consumer<List<TestResult>> resultsConsumer) {
+        long startTime = System.nanoTime();
+        List<Question> questions = questionDao.findAll();
+        // Порог считается от размера экзамена, а не от числа ответов в бланке: пропуск вопроса его не снижает
+        var exam = new Exam(testFileNameProvider.getTestFileName(), questions,
+                getRightAnswersCountToPass(questions.size()));
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        // Ограничиваем число кусков в работе, чтобы не держать в памяти весь файл
+        int maxChunksInFlight = pool.getParallelism() * 2;
+        Deque<GradedChunk> chunksInFlight = new ArrayDeque<>();
+        GradingTotals totals = GradingTotals.EMPTY;
+
+        try (BufferedReader reader = Files.newBufferedReader(answerSheetFile, StandardCharsets.UTF_8)) {
+            var sheetReader = new AnswerSheetReader(reader);
+            List<AnswerSheet> chunk;
+            while (!(chunk = sheetReader.readChunk(SHEETS_PER_CHUNK)).isEmpty()) {
+                if (chunksInFlight.size() == maxChunksInFlight) {
+                    totals = totals.plus(chunksInFlight.removeFirst().complete(resultsConsumer));
+                }
+                var results = new TestResult[chunk.size()];
+                chunksInFlight.addLast(new GradedChunk(pool.submit(new GradingTask(chunk, 0, chunk.size(), results,
+                        exam)), results));
+            }
+            while (!chunksInFlight.isEmpty()) {
+                totals = totals.plus(chunksInFlight.removeFirst().complete(resultsConsumer));
+            }
+            totals = totals.plus(new GradingTotals(0, 0, 0, 0, sheetReader.invalidRowsCount));
+        } catch (IOException e) {
+            chunksInFlight.forEach(gradedChunk -> gradedChunk.task().cancel(true));
+            throw new UncheckedIOException(e);
+        }
+
+        return new BatchGradingReport(totals.sheetsCount(), totals.passedCount(), totals.answersCount(),
+                totals.rightAnswersCount(), totals.invalidAnswersCount(), System.nanoTime() - startTime);
+    }
+
+    private int getRightAnswersCountToPass(int bankQuestionCount) {
+        int examQuestionCount = testConfig.getExamQuestionCount();
+        return examQuestionCount > 0 && examQuestionCount < bankQuestionCount
+                ? PassThreshold.scale(testConfig.getRightAnswersCountToPass(), examQuestionCount, bankQuestionCount)
+                : testConfig.getRightAnswersCountToPass();
+    }
+
+    private static TestResult gradeSheet(AnswerSheet sheet, Exam exam, BitSet answeredQuestions,
+                                         long[] invalidAnswersCount) {
+        List<Question> questions = exam.questions();
+        var testResult = new TestResult(toStudent(sheet.studentName));
+        answeredQuestions.clear();
+        for (int i = 0; i < sheet.answersCount; i++) {
+            int questionIndex = sheet.questionNumbers[i] - 1;
+            long selection = sheet.selections[i];
+            if (questionIndex < 0 || questionIndex >= questions.size() || answeredQuestions.get(questionIndex)) {
+                invalidAnswersCount[0]++;
+                continue;
+            }
+            Question question = questions.get(questionIndex);
+            int answersCount = question.answers().size();
+            if (answersCount < Question.MAX_ANSWERS && selection >>> answersCount != 0) {
+                invalidAnswersCount[0]++;
+                continue;
+            }
+            answeredQuestions.set(questionIndex);
+            testResult.applyAnswer(exam.questionFileName(), questionIndex, question, selection);
+        }
+        testResult.setRightAnswersCountToPass(exam.rightAnswersCountToPass());
+        return testResult;
+    }
+
+    private static Student toStudent(String studentName) {
+        int separatorIndex = studentName.indexOf(' ');
+        return separatorIndex < 0
+                ? new Student(studentName, "")
+                : new Student(studentName.substring(0, separatorIndex), studentName.substring(separatorIndex + 1));
+    }
+
+    private record GradingTotals(long sheetsCount, long passedCount, long answersCount, long rightAnswersCount,
+                                 long invalidAnswersCount) {
+
+        static final GradingTotals EMPTY = new GradingTotals(0, 0, 0, 0, 0);
+
+        GradingTotals plus(GradingTotals other) {
+            return new GradingTotals(sheetsCount + other.sheetsCount, passedCount + other.passedCount,
+                    answersCount + other.answersCount, rightAnswersCount + other.rightAnswersCount,
+                    invalidAnswersCount + other.invalidAnswersCount);
+        }
+    }
+
+    // Вопросы, по которым проверяются бланки, и общий для всех бланков порог сдачи
+    private record Exam(String questionFileName, List<Question> questions, int rightAnswersCountToPass) {
+    }
+
+    // Кусок в проверке; результаты отдаются потребителю в читающем потоке, когда проверен весь кусок
+    private record GradedChunk(ForkJoinTask<GradingTotals> task, TestResult[] results) {
+
+        GradingTotals complete(Consumer<List<TestResult>> resultsConsumer) {
+            GradingTotals totals = task.join();
+            resultsConsumer.accept(Arrays.asList(results));
+            return totals;
+        }
+    }
+
+    // Бланк одного студента: номера вопросов и маски выбранных ответов без упаковки в объекты
+    private static final class AnswerSheet {
+
+        private final String studentName;
+
+        private int[] questionNumbers = new int[16];
+
+        private long[] selections = new long[16];
+
+        private int answersCount;
+
+        private AnswerSheet(String studentName) {
+            this.studentName = studentName;
+        }
+
+        private void addAnswer(int questionNumber, long selection) {
+            if (answersCount == questionNumbers.length) {
+                questionNumbers = Arrays.copyOf(questionNumbers, answersCount * 2);
+                selections = Arrays.copyOf(selections, answersCount * 2);
+            }
+            questionNumbers[answersCount] = questionNumber;
+            selections[answersCount] = selection;
+            answersCount++;
+        }
+    }
+
+    private static final class AnswerSheetReader {
+
+        private final BufferedReader reader;
+
+        private boolean headerSkipped;
+
+        // Первая строка следующего бланка, прочитанная при поиске конца текущего
+        private AnswerSheet nextSheet;
+
+        private long invalidRowsCount;
+
+        private AnswerSheetReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        private List<AnswerSheet> readChunk(int maxSheets) throws IOException {
+            if (!headerSkipped) {
+                reader.readLine();
+                headerSkipped = true;
+            }
+            List<AnswerSheet> chunk = new ArrayList<>(maxSheets);
+            AnswerSheet sheet = nextSheet;
+            nextSheet = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int firstSeparator = line.indexOf(SEPARATOR);
+                int secondSeparator = firstSeparator < 0 ? -1 : line.indexOf(SEPARATOR, firstSeparator + 1);
+                int questionNumber = secondSeparator < 0 ? -1 : parseNumber(line, firstSeparator + 1, secondSeparator);
+                long selection = secondSeparator < 0
+                        ? AnswerSelectionParser.INVALID_SELECTION
+                        : AnswerSelectionParser.parse(line, secondSeparator + 1, line.length(),
+                                MIN_ANSWER_NUMBER, Question.MAX_ANSWERS);
+                if (questionNumber < 0 || selection == AnswerSelectionParser.INVALID_SELECTION) {
+                    if (!line.isBlank()) {
+                        invalidRowsCount++;
+                    }
+                    continue;
+                }
+
+                String studentName = line.substring(0, firstSeparator).trim();
+                if (sheet == null || !sheet.studentName.equals(studentName)) {
+                    if (sheet != null) {
+                        chunk.add(sheet);
+                    }
+                    sheet = new AnswerSheet(studentName);
+                    if (chunk.size() == maxSheets) {
+                        nextSheet = sheet;
+                        nextSheet.addAnswer(questionNumber, selection);
+                        return chunk;
+                    }
+                }
+                sheet.addAnswer(questionNumber, selection);
+            }
+            if (sheet != null) {
+                chunk.add(sheet);
+            }
+            return chunk;
+        }
+
+        // Неотрицательное число из line[start, end) без лишних пробелов; -1, если это не число
+        private static int parseNumber(String line, int start, int end) {
+            while (start < end && line.charAt(start) == ' ') {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+                end--;
+            }
+            if (start == end || end - start > 9) {
+                return -1;
+            }
+            int number = 0;
+            for (int i = start; i < end; i++) {
+                char c = line.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                number = number * 10 + (c - '0');
+            }
+            return number;
+        }
+    }
+
+    private static final class GradingTask extends RecursiveTask<GradingTotals> {
+
+        private final List<AnswerSheet> sheets;
+
+        private final int from;
+
+        private final int to;
+
+        // Общий массив куска: каждая задача пишет только в свой диапазон [from, to)
+        private final TestResult[] results;
+
+        private final Exam exam;
+
+        private GradingTask(List<AnswerSheet> sheets, int from, int to, TestResult[] results, Exam exam) {
+            this.sheets = sheets;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+            this.exam = exam;
+        }
+
+        @Override
+        protected GradingTotals compute() {
+            if (to - from > SHEETS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                var left = new GradingTask(sheets, from, middle, results, exam);
+                left.fork();
+                GradingTotals right = new GradingTask(sheets, middle, to, results, exam).compute();
+                return left.join().plus(right);
+            }
+
+            long passedCount = 0;
+            long answersCount = 0;
+            long rightAnswersCount = 0;
+            long[] invalidAnswersCount = new long[1];
+            var answeredQuestions = new BitSet(exam.questions().size());
+            for (int i = from; i < to; i++) {
+                TestResult testResult = gradeSheet(sheets.get(i), exam, answeredQuestions, invalidAnswersCount);
+                answersCount += testResult.getAnsweredQuestions().size();
+                rightAnswersCount += testResult.getRightAnswersCount();
+                if (testResult.isPassed()) {
+                    passedCount++;
+                }
+                results[i] = testResult;
+            }
+            return new GradingTotals(to - from, passedCount, answersCount, rightAnswersCount,
+                    invalidAnswersCount[0]);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package ru.otus.hw.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.NoSuchElementException;
+
+/**
+ * Ввод-вывод через NIO-каналы. Вывод копится в одном переиспользуемом буфере и уходит в канал
+ * перед каждым чтением (т.е. один раз на вопрос), при переполнении буфера или по {@link #flush()}.
+ * Каждое чтение сначала сбрасывает вывод, поэтому запрос виден пользователю до того, как ждем ответ.
+ */
+@Service
+@ConditionalOnProperty(prefix = "test", name = "io-service", havingValue = "channel")
+public class ChannelIOService implements IOService {
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final WritableByteChannel outputChannel;
+
+    private final ReadableByteChannel inputChannel;
+
+    private final Charset charset;
+
+    private final CharsetEncoder encoder;
+
+    private final ByteBuffer outputBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private final ByteBuffer inputBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private final LineDecoder lineDecoder;
+
+    private boolean endOfInput;
+
+    @Autowired
+    public ChannelIOService(@Value("#{T(System).out}") OutputStream outputStream,
+                            @Value("#{T(System).in}") InputStream inputStream) {
+        this(Channels.newChannel(outputStream), Channels.newChannel(inputStream), Charset.defaultCharset());
+    }
+
+    public ChannelIOService(WritableByteChannel outputChannel, ReadableByteChannel inputChannel, Charset charset) {
+        this.outputChannel = outputChannel;
+        this.inputChannel = inputChannel;
+        this.charset = charset;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.lineDecoder = new LineDecoder(charset, BUFFER_SIZE);
+    }
+
+    @Override
+    public void printLine(String s) {
+        write(s);
+        write(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void printLine(EncodedLine line) {
+        if (!charset.equals(line.charset())) {
+            printLine(line.text());
+            return;
+        }
+        byte[] bytes = line.bytes();
+        if (bytes.length > outputBuffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > outputBuffer.capacity()) {
+            writeFully(ByteBuffer.wrap(bytes));
+            return;
+        }
+        outputBuffer.put(bytes);
+    }
+
+    @Override
+    public Charset getOutputCharset() {
+        return charset;
+    }
+
+    @Override
+    public void printFormattedLine(String s, Object... args) {
+        printLine(String.format(s, args));
+    }
+
+    @Override
+    public String readString() {
+        return readLine();
+    }
+
+    @Override
+    public String readStringWithPrompt(String prompt) {
+        printLine(prompt);
+        return readLine();
+    }
+
+    @Override
+    public int readIntForRange(int min, int max, String errorMessage) {
+        return RangeInputReader.readIntForRange(this, min, max, errorMessage);
+    }
+
+    @Override
+    public int readIntForRangeWithPrompt(int min, int max, String prompt, String errorMessage) {
+        printLine(prompt);
+        return readIntForRange(min, max, errorMessage);
+    }
+
+    @Override
+    public long readSelectionForRange(int min, int max, String errorMessage) {
+        return RangeInputReader.readSelectionForRange(this, min, max, errorMessage);
+    }
+
+    @Override
+    public void flush() {
+        outputBuffer.flip();
+        writeFully(outputBuffer);
+        outputBuffer.clear();
+    }
+
+    private void writeFully(ByteBuffer bytes) {
+        try {
+            while (bytes.hasRemaining()) {
+                outputChannel.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(String s) {
+        CharBuffer chars = CharBuffer.wrap(s);
+        while (encoder.encode(chars, outputBuffer, false).isOverflow()) {
+            flush();
+        }
+    }
+
+    private String readLine() {
+        // Пользователь должен увидеть вопрос до того, как мы начнем ждать ответ
+        flush();
+        try {
+            String line = lineDecoder.pollLine();
+            while (line == null && !endOfInput) {
+                if (inputChannel.read(inputBuffer) < 0) {
+                    endOfInput = true;
+                    line = lineDecoder.finish();
+                } else {
+                    inputBuffer.flip();
+                    lineDecoder.feed(inputBuffer);
+                    inputBuffer.compact();
+                    line = lineDecoder.pollLine();
+                }
+            }
+            if (line == null) {
+                throw new NoSuchElementException("No line found");
+            }
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ru.otus.hw.service;
+
+import java.nio.charset.Charset;
+
+/**
+ * Строка вывода вместе с ее байтами в кодировке charset (включая перевод строки),
+ * чтобы сервис ввода-вывода мог записать их без повторного кодирования.
+ * Не record: байты - производное от текста и кодировки, в equals и hashCode не участвуют.
+ */
+public final class EncodedLine {
+
+    private final String text;
+
+    private final Charset charset;
+
+    private final byte[] bytes;
+
+    private EncodedLine(String text, Charset charset, byte[] bytes) {
+        this.text = text;
+        this.charset = charset;
+        this.bytes = bytes;
+    }
+
+    public static EncodedLine encode(String text, Charset charset) {
+        return new EncodedLine(text, charset, (text + System.lineSeparator()).getBytes(charset));
+    }
+
+    public String text() {
+        return text;
+    }
+
+    public Charset charset() {
+        return charset;
+    }
+
+    // Отдается без копирования, чтобы запись в канал не выделяла память; изменять массив нельзя
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EncodedLine other && text.equals(other.text) && charset.equals(other.charset);
+    }
+
+    @Override
+    public int hashCode() {
+        return text.hashCode() * 31 + charset.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
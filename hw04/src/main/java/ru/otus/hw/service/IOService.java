@@ -1,8 +1,15 @@
 package ru.otus.hw.service;
 
+import java.nio.charset.Charset;
+
 public interface IOService {
     void printLine(String s);
 
+    // Вывод заранее закодированной строки; байты пишутся как есть, если кодировка совпадает с кодировкой вывода
+    void printLine(EncodedLine line);
+
+    Charset getOutputCharset();
+
     void printFormattedLine(String s, Object ...args);
 
     String readString();
@@ -12,4 +19,10 @@ public interface IOService {
     int readIntForRange(int min, int max, String errorMessage);
 
     int readIntForRangeWithPrompt(int min, int max, String prompt, String errorMessage);
+
+    // Несколько номеров через запятую; бит 0 маски - номер min, см. AnswerSelectionParser
+    long readSelectionForRange(int min, int max, String errorMessage);
+
+    // Отправляет накопленный вывод пользователю
+    void flush();
 }
@@ -0,0 +1,81 @@
+package ru.otus.hw.service;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Неблокирующий разбор входящих байтов на строки. Байты подаются порциями по мере поступления,
+ * строка отдается только когда дочитана до конца, иначе накапливается до следующей порции.
+ */
+class LineDecoder {
+
+    private final CharsetDecoder decoder;
+
+    // Раскодированные, но еще не разобранные на строки символы (в режиме чтения)
+    private final CharBuffer chars;
+
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * @param capacity размер буфера символов; не меньше размера подаваемых порций байтов,
+     *                 тогда каждая порция раскодируется целиком (кроме незаконченного многобайтового символа)
+     */
+    LineDecoder(Charset charset, int capacity) {
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars = CharBuffer.allocate(capacity).flip();
+    }
+
+    /**
+     * Раскодирует очередную порцию. Нераскодированный остаток (незаконченный символ) остается в bytes.
+     */
+    void feed(ByteBuffer bytes) {
+        chars.compact();
+        decoder.decode(bytes, chars, false);
+        chars.flip();
+    }
+
+    /**
+     * Возвращает следующую полную строку без перевода строки или null, если строка еще не дочитана.
+     */
+    String pollLine() {
+        while (chars.hasRemaining()) {
+            char c = chars.get();
+            if (c == '\n') {
+                return takeLine();
+            }
+            line.append(c);
+        }
+        return null;
+    }
+
+    /**
+     * Завершает разбор в конце ввода: возвращает последнюю строку без перевода строки или null, если ее нет.
+     */
+    String finish() {
+        chars.compact();
+        decoder.decode(ByteBuffer.allocate(0), chars, true);
+        decoder.flush(chars);
+        chars.flip();
+
+        String lastLine = pollLine();
+        if (lastLine != null || line.isEmpty()) {
+            return lastLine;
+        }
+        return takeLine();
+    }
+
+    private String takeLine() {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        String result = line.toString();
+        line.setLength(0);
+        return result;
+    }
+}
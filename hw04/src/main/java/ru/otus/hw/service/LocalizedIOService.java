@@ -10,4 +10,6 @@ public interface LocalizedIOService extends LocalizedMessagesService, IOService
     int readIntForRangeLocalized(int min, int max, String errorMessageCode);
 
     int readIntForRangeWithPromptLocalized(int min, int max, String promptCode, String errorMessageCode);
+
+    long readSelectionForRangeLocalized(int min, int max, String errorMessageCode);
 }
@@ -3,6 +3,8 @@ package ru.otus.hw.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.Charset;
+
 @RequiredArgsConstructor
 @Service
 public class LocalizedIOServiceImpl implements LocalizedIOService {
@@ -16,6 +18,16 @@ public class LocalizedIOServiceImpl implements LocalizedIOService {
         ioService.printLine(s);
     }
 
+    @Override
+    public void printLine(EncodedLine line) {
+        ioService.printLine(line);
+    }
+
+    @Override
+    public Charset getOutputCharset() {
+        return ioService.getOutputCharset();
+    }
+
     @Override
     public void printFormattedLine(String s, Object... args) {
         ioService.printFormattedLine(s, args);
@@ -41,6 +53,16 @@ public class LocalizedIOServiceImpl implements LocalizedIOService {
         return ioService.readIntForRangeWithPrompt(min, max, prompt, errorMessage);
     }
 
+    @Override
+    public long readSelectionForRange(int min, int max, String errorMessage) {
+        return ioService.readSelectionForRange(min, max, errorMessage);
+    }
+
+    @Override
+    public void flush() {
+        ioService.flush();
+    }
+
     @Override
     public void printLineLocalized(String code) {
         ioService.printLine(localizedMessagesService.getMessage(code));
@@ -69,6 +91,11 @@ public class LocalizedIOServiceImpl implements LocalizedIOService {
                 );
     }
 
+    @Override
+    public long readSelectionForRangeLocalized(int min, int max, String errorMessageCode) {
+        return ioService.readSelectionForRange(min, max, localizedMessagesService.getMessage(errorMessageCode));
+    }
+
     @Override
     public String getMessage(String code, Object... args) {
         return localizedMessagesService.getMessage(code, args);
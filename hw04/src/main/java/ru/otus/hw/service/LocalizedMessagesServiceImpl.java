@@ -4,6 +4,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.service.messages.MessageTemplate;
+import ru.otus.hw.service.messages.MessageTemplateRegistry;
+import ru.otus.hw.service.messages.MessageTemplateTable;
 
 import java.util.Locale;
 
@@ -15,10 +18,28 @@ public class LocalizedMessagesServiceImpl implements LocalizedMessagesService {
 
     private final MessageSource messageSource;
 
+    private final MessageTemplateRegistry messageTemplateRegistry;
+
+    // Таблица текущей локали; при смене локали подменяется целиком одной записью
+    private volatile MessageTemplateTable currentTable;
+
     @Override
     public String getMessage(String code, Object... args) {
         Locale locale = localeConfig.getLocale();
-        return messageSource.getMessage(code, args, locale);
+        MessageTemplate template = getTable(locale).get(code);
+        if (template == null) {
+            // Сообщения нет в properties - пусть MessageSource разберется (и бросит NoSuchMessageException)
+            return messageSource.getMessage(code, args, locale);
+        }
+        return template.format(args);
     }
 
+    private MessageTemplateTable getTable(Locale locale) {
+        MessageTemplateTable table = currentTable;
+        if (table == null || !table.locale().equals(locale)) {
+            table = messageTemplateRegistry.getTable(locale);
+            currentTable = table;
+        }
+        return table;
+    }
 }
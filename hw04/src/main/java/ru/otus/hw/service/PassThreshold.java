@@ -0,0 +1,19 @@
+package ru.otus.hw.service;
+
+public final class PassThreshold {
+
+    private PassThreshold() {
+    }
+
+    /**
+     * Порог задан для всего банка вопросов; если задана только часть вопросов,
+     * требуется та же доля правильных ответов (с округлением вверх).
+     */
+    public static int scale(int rightAnswersCountToPass, int askedQuestionCount, int bankQuestionCount) {
+        if (askedQuestionCount >= bankQuestionCount) {
+            return rightAnswersCountToPass;
+        }
+        long scaled = (long) rightAnswersCountToPass * askedQuestionCount;
+        return (int) Math.min(askedQuestionCount, (scaled + bankQuestionCount - 1) / bankQuestionCount);
+    }
+}
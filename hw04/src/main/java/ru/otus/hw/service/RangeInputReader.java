@@ -0,0 +1,41 @@
+package ru.otus.hw.service;
+
+/**
+ * Чтение числа или выбора ответов из диапазона с повтором запроса при неверном вводе,
+ * общее для реализаций {@link IOService}: строки читаются через {@link IOService#readString()},
+ * сообщение об ошибке выводится через {@link IOService#printLine(String)}.
+ */
+public final class RangeInputReader {
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    private RangeInputReader() {
+    }
+
+    public static int readIntForRange(IOService ioService, int min, int max, String errorMessage) {
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            try {
+                var stringValue = ioService.readString();
+                int intValue = Integer.parseInt(stringValue);
+                if (intValue < min || intValue > max) {
+                    throw new IllegalArgumentException();
+                }
+                return intValue;
+            } catch (IllegalArgumentException e) {
+                ioService.printLine(errorMessage);
+            }
+        }
+        throw new IllegalArgumentException("Error during reading int value");
+    }
+
+    public static long readSelectionForRange(IOService ioService, int min, int max, String errorMessage) {
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            long selection = AnswerSelectionParser.parse(ioService.readString(), min, max);
+            if (selection != AnswerSelectionParser.INVALID_SELECTION) {
+                return selection;
+            }
+            ioService.printLine(errorMessage);
+        }
+        throw new IllegalArgumentException("Error during reading selection");
+    }
+}
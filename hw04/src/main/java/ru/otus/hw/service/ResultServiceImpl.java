@@ -2,15 +2,12 @@ package ru.otus.hw.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import ru.otus.hw.config.TestConfig;
 import ru.otus.hw.domain.TestResult;
 
 @Service
 @RequiredArgsConstructor
 public class ResultServiceImpl implements ResultService {
 
-    private final TestConfig testConfig;
-
     private final LocalizedIOService ioService;
 
     @Override
@@ -23,11 +20,18 @@ public class ResultServiceImpl implements ResultService {
                 testResult.getAnsweredQuestions().size());
         ioService.printFormattedLineLocalized("ResultService.right.answers.count",
                 testResult.getRightAnswersCount());
+        // Баллы отличаются от числа правильных ответов только при частично верных ответах на вопросы
+        // с несколькими правильными вариантами
+        if (testResult.getScore() != testResult.getRightAnswersCount()) {
+            ioService.printFormattedLineLocalized("ResultService.score",
+                    String.valueOf(Math.round(testResult.getScore() * 10) / 10.0));
+        }
 
-        if (testResult.getRightAnswersCount() >= testConfig.getRightAnswersCountToPass()) {
+        if (testResult.isPassed()) {
             ioService.printLineLocalized("ResultService.passed.test");
-            return;
+        } else {
+            ioService.printLineLocalized("ResultService.fail.test");
         }
-        ioService.printLineLocalized("ResultService.fail.test");
+        ioService.flush();
     }
 }
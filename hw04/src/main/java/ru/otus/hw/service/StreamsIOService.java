@@ -1,16 +1,17 @@
 package ru.otus.hw.service;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.charset.Charset;
 import java.util.Scanner;
 
 @Service
+@ConditionalOnProperty(prefix = "test", name = "io-service", havingValue = "streams", matchIfMissing = true)
 public class StreamsIOService implements IOService {
-    private static final int MAX_ATTEMPTS = 10;
-
     private final PrintStream printStream;
 
     private final Scanner scanner;
@@ -27,6 +28,16 @@ public class StreamsIOService implements IOService {
         printStream.println(s);
     }
 
+    @Override
+    public void printLine(EncodedLine line) {
+        printStream.println(line.text());
+    }
+
+    @Override
+    public Charset getOutputCharset() {
+        return Charset.defaultCharset();
+    }
+
     @Override
     public void printFormattedLine(String s, Object... args) {
         printStream.printf(s + "%n", args);
@@ -45,19 +56,7 @@ public class StreamsIOService implements IOService {
 
     @Override
     public int readIntForRange(int min, int max, String errorMessage) {
-        for (int i = 0; i < MAX_ATTEMPTS; i++) {
-            try {
-                var stringValue = scanner.nextLine();
-                int intValue = Integer.parseInt(stringValue);
-                if (intValue < min || intValue > max) {
-                    throw new IllegalArgumentException();
-                }
-                return intValue;
-            } catch (IllegalArgumentException e) {
-                printLine(errorMessage);
-            }
-        }
-        throw new IllegalArgumentException("Error during reading int value");
+        return RangeInputReader.readIntForRange(this, min, max, errorMessage);
     }
 
     @Override
@@ -65,4 +64,14 @@ public class StreamsIOService implements IOService {
         printLine(prompt);
         return readIntForRange(min, max, errorMessage);
     }
+
+    @Override
+    public long readSelectionForRange(int min, int max, String errorMessage) {
+        return RangeInputReader.readSelectionForRange(this, min, max, errorMessage);
+    }
+
+    @Override
+    public void flush() {
+        printStream.flush();
+    }
 }
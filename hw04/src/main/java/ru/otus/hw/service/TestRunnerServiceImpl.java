@@ -2,6 +2,7 @@ package ru.otus.hw.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.otus.hw.dao.results.ResultJournal;
 
 @Service
 @RequiredArgsConstructor
@@ -13,10 +14,17 @@ public class TestRunnerServiceImpl implements TestRunnerService {
 
     private final ResultService resultService;
 
+    private final ResultJournal resultJournal;
+
     @Override
     public void run() {
         var currentStudent = studentService.getCurrentStudent();
         var testResult = testService.executeTestFor(currentStudent);
         resultService.showResult(testResult);
+
+        // Попытки, прерванные ошибкой чтения вопросов или ввода, в статистику не попадают
+        if (!testResult.getAnsweredQuestions().isEmpty()) {
+            resultJournal.append(testResult, testResult.isPassed());
+        }
     }
 }
@@ -2,14 +2,21 @@ package ru.otus.hw.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
 import ru.otus.hw.dao.QuestionDao;
 import ru.otus.hw.domain.Question;
 import ru.otus.hw.domain.Student;
 import ru.otus.hw.domain.TestResult;
 import ru.otus.hw.exceptions.QuestionReadException;
 import ru.otus.hw.service.converters.QuestionConverter;
+import ru.otus.hw.service.sampling.AdaptiveQuestionSampler;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,14 +31,37 @@ public class TestServiceImpl implements TestService {
 
     private final QuestionConverter questionConverter;
 
+    private final TestConfig testConfig;
+
+    private final TestFileNameProvider testFileNameProvider;
+
+    private final AdaptiveQuestionSampler questionSampler;
+
     @Override
     public TestResult executeTestFor(Student student) {
         processTopic();
 
         TestResult testResult = new TestResult(student);
         try {
+            Map<String, Integer> questionCountByTopic = testConfig.getQuestionCountByTopic();
+            if (questionCountByTopic != null && !questionCountByTopic.isEmpty()) {
+                processTopics(questionCountByTopic, testResult);
+                return testResult;
+            }
+
             List<Question> questions = questionDao.findAll();
-            processQuestions(questions, testResult);
+            String questionFileName = testFileNameProvider.getTestFileName();
+            int examQuestionCount = testConfig.getExamQuestionCount();
+            if (examQuestionCount > 0 && examQuestionCount < questions.size()) {
+                int[] questionIndexes = questionSampler.sample(questionFileName, questions.size(), examQuestionCount,
+                        ThreadLocalRandom.current());
+                testResult.setRightAnswersCountToPass(PassThreshold.scale(testConfig.getRightAnswersCountToPass(),
+                        questionIndexes.length, questions.size()));
+                processQuestions(questionFileName, questions, questionIndexes, testResult);
+            } else {
+                testResult.setRightAnswersCountToPass(testConfig.getRightAnswersCountToPass());
+                processQuestions(questionFileName, questions, testResult);
+            }
         } catch (QuestionReadException e) {
             ioService.printFormattedLineLocalized("TestService.questions.read.error",e.getMessage());
             testResult.clearResults();
@@ -48,32 +78,85 @@ public class TestServiceImpl implements TestService {
         ioService.printLine("");
     }
 
-    private void processQuestions(List<Question> questionList, TestResult testResult) {
+    // Вопросы темы нумеруются внутри ее файла, поэтому в журнале и у выборки не пересекаются с другими файлами
+    private void processTopics(Map<String, Integer> questionCountByTopic, TestResult testResult) {
+        List<String> topicFileNames = new ArrayList<>(questionCountByTopic.size());
+        List<List<Question>> topicQuestions = new ArrayList<>(questionCountByTopic.size());
+        List<int[]> topicQuestionIndexes = new ArrayList<>(questionCountByTopic.size());
+        int bankQuestionCount = 0;
+        int askedQuestionCount = 0;
+        for (Map.Entry<String, Integer> topic : questionCountByTopic.entrySet()) {
+            List<Question> questions = questionDao.findAllByTopic(topic.getKey());
+            String topicFileName = testFileNameProvider.getTopicFileName(topic.getKey());
+            int count = topic.getValue() == null ? 0 : topic.getValue();
+            int[] questionIndexes = count > 0 && count < questions.size()
+                    ? questionSampler.sample(topicFileName, questions.size(), count, ThreadLocalRandom.current())
+                    : IntStream.range(0, questions.size()).toArray();
+            topicFileNames.add(topicFileName);
+            topicQuestions.add(questions);
+            topicQuestionIndexes.add(questionIndexes);
+            bankQuestionCount += questions.size();
+            askedQuestionCount += questionIndexes.length;
+        }
+
+        testResult.setRightAnswersCountToPass(PassThreshold.scale(testConfig.getRightAnswersCountToPass(),
+                askedQuestionCount, bankQuestionCount));
         int questionNumber = 1;
-        for (var question : questionList) {
-            ioService.printLine(questionConverter.convertQuestionToString(question, questionNumber));
-            var isAnswerValid = processUserAnswer(question, questionNumber);
-            testResult.applyAnswer(question, isAnswerValid);
-            questionNumber++;
+        for (int topic = 0; topic < topicQuestions.size(); topic++) {
+            List<Question> questions = topicQuestions.get(topic);
+            for (int questionIndex : topicQuestionIndexes.get(topic)) {
+                processQuestion(topicFileNames.get(topic), questions.get(questionIndex), questionIndex,
+                        questionNumber++, testResult);
+            }
         }
     }
 
-    private boolean processUserAnswer(Question question, int questionNumber) {
-        int maxAnswerNumber = question.answers().size();
-
-        ioService.printFormattedLineLocalized("TestService.question.answer.prompt", questionNumber);
-        int userAnswer = ioService.readIntForRangeLocalized(
-                MIN_ANSWER_NUMBER,
-                maxAnswerNumber,
-                "TestService.invalid.answer.message"
-        );
-        ioService.printLine("");
+    private void processQuestions(String questionFileName, List<Question> questionList, TestResult testResult) {
+        for (int questionIndex = 0; questionIndex < questionList.size(); questionIndex++) {
+            processQuestion(questionFileName, questionList.get(questionIndex), questionIndex, questionIndex + 1,
+                    testResult);
+        }
+    }
 
-        return isAnswerCorrect(question, userAnswer); // Проверить правильность ответа
+    private void processQuestions(String questionFileName, List<Question> questionList, int[] questionIndexes,
+                                  TestResult testResult) {
+        for (int i = 0; i < questionIndexes.length; i++) {
+            processQuestion(questionFileName, questionList.get(questionIndexes[i]), questionIndexes[i], i + 1,
+                    testResult);
+        }
     }
 
-    private boolean isAnswerCorrect(Question question, int userAnswer) {
-        return question.answers().get(userAnswer - MIN_ANSWER_NUMBER).isCorrect();
+    private void processQuestion(String questionFileName, Question question, int questionIndex, int questionNumber,
+                                 TestResult testResult) {
+        ioService.printLine(questionConverter.convertQuestionToEncodedLine(question, questionNumber,
+                ioService.getOutputCharset()));
+        long selection = readSelection(question, questionNumber);
+        testResult.applyAnswer(questionFileName, questionIndex, question, selection);
+        questionSampler.recordAnswer(questionFileName, questionIndex, question.isRightSelection(selection));
     }
 
+    // Выбранные варианты в виде маски: один номер для обычного вопроса, несколько через запятую - для вопроса
+    // с несколькими правильными ответами
+    private long readSelection(Question question, int questionNumber) {
+        int maxAnswerNumber = question.answers().size();
+        long selection;
+        if (question.isMultipleChoice()) {
+            ioService.printFormattedLineLocalized("TestService.question.answers.prompt", questionNumber);
+            selection = ioService.readSelectionForRangeLocalized(
+                    MIN_ANSWER_NUMBER,
+                    maxAnswerNumber,
+                    "TestService.invalid.answers.message"
+            );
+        } else {
+            ioService.printFormattedLineLocalized("TestService.question.answer.prompt", questionNumber);
+            int userAnswer = ioService.readIntForRangeLocalized(
+                    MIN_ANSWER_NUMBER,
+                    maxAnswerNumber,
+                    "TestService.invalid.answer.message"
+            );
+            selection = Question.selectionOf(userAnswer - MIN_ANSWER_NUMBER);
+        }
+        ioService.printLine("");
+        return selection;
+    }
 }
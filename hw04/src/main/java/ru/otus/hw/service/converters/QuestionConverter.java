@@ -1,7 +1,13 @@
 package ru.otus.hw.service.converters;
 
 import ru.otus.hw.domain.Question;
+import ru.otus.hw.service.EncodedLine;
+
+import java.nio.charset.Charset;
 
 public interface QuestionConverter {
     String convertQuestionToString(Question question, int questionNumber);
+
+    // Текст вопроса, уже закодированный для вывода в charset
+    EncodedLine convertQuestionToEncodedLine(Question question, int questionNumber, Charset charset);
 }
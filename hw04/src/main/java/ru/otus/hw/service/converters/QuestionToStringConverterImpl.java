@@ -1,16 +1,35 @@
 package ru.otus.hw.service.converters;
 
 import org.springframework.stereotype.Component;
+import ru.otus.hw.dao.QuestionEvictionListener;
 import ru.otus.hw.domain.Question;
+import ru.otus.hw.service.EncodedLine;
 
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Отрисовка вопросов. Готовый текст вместе с байтами кэшируется по содержимому вопроса, номеру и кодировке,
+ * поэтому попадание не зависит от того, отдает ли DAO одни и те же экземпляры вопросов.
+ * Кэш читается без блокировок, а вытеснение приблизительное: при переполнении удаляются произвольные записи.
+ */
 @Component
-public class QuestionToStringConverterImpl implements QuestionConverter {
+public class QuestionToStringConverterImpl implements QuestionConverter, QuestionEvictionListener {
+    // Сверх этого кэш урезается до RETAINED_RENDERED_QUESTIONS, чтобы не чистить его на каждой вставке
+    private static final int MAX_RENDERED_QUESTIONS = 10_000;
+
+    private static final int RETAINED_RENDERED_QUESTIONS = MAX_RENDERED_QUESTIONS * 3 / 4;
+
     //Форматирование вопросов
     private static final String ANSWER_FORMAT = "    %d) %s";
 
     // Форматирование ответов
     private static final String QUESTION_FORMAT = "%2d. %s";
 
+    private final Map<RenderKey, EncodedLine> renderedQuestions = new ConcurrentHashMap<>();
+
     @Override
     public String convertQuestionToString(Question question, int questionNumber) {
         StringBuilder stringBuilder = new StringBuilder();
@@ -26,4 +45,72 @@ public class QuestionToStringConverterImpl implements QuestionConverter {
 
         return stringBuilder.toString();
     }
+
+    @Override
+    public EncodedLine convertQuestionToEncodedLine(Question question, int questionNumber, Charset charset) {
+        var key = new RenderKey(question, questionNumber, charset);
+        EncodedLine renderedQuestion = renderedQuestions.get(key);
+        if (renderedQuestion == null) {
+            // При гонке один и тот же вопрос просто отрисуется дважды
+            renderedQuestion = EncodedLine.encode(convertQuestionToString(question, questionNumber), charset);
+            renderedQuestions.put(key, renderedQuestion);
+            if (renderedQuestions.size() > MAX_RENDERED_QUESTIONS) {
+                trimRenderedQuestions();
+            }
+        }
+        return renderedQuestion;
+    }
+
+    @Override
+    public void onQuestionsEvicted(String fileName) {
+        // Измененный вопрос и так не совпадет по содержимому, сброс только освобождает память от старых
+        renderedQuestions.clear();
+    }
+
+    // Удаляет записи в порядке обхода ConcurrentHashMap, то есть фактически случайные
+    private void trimRenderedQuestions() {
+        Iterator<RenderKey> keys = renderedQuestions.keySet().iterator();
+        while (renderedQuestions.size() > RETAINED_RENDERED_QUESTIONS && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    // Вопрос сравнивается по содержимому, а не по ссылке на экземпляр. Хэш берется от текста вопроса,
+    // который String кэширует сам, поэтому ответы не перехэшируются на каждом обращении; сравнение
+    // сначала проверяет ссылку: DAO обычно отдает одни и те же экземпляры вопросов
+    private static final class RenderKey {
+
+        private final Question question;
+
+        private final int questionNumber;
+
+        private final Charset charset;
+
+        private final int hash;
+
+        RenderKey(Question question, int questionNumber, Charset charset) {
+            this.question = question;
+            this.questionNumber = questionNumber;
+            this.charset = charset;
+            this.hash = (31 * question.text().hashCode() + questionNumber) * 31 + charset.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RenderKey other)) {
+                return false;
+            }
+            return hash == other.hash && questionNumber == other.questionNumber && charset.equals(other.charset)
+                    && (question == other.question || question.equals(other.question));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
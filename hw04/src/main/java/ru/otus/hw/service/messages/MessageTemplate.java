@@ -0,0 +1,143 @@
+package ru.otus.hw.service.messages;
+
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Заранее разобранный шаблон сообщения в формате {@link MessageFormat}.
+ * Простые подстановки вида {0} собираются без MessageFormat, шаблоны с типами аргументов
+ * ({0,number,...}, {0,choice,...}) форматируются заранее созданным MessageFormat.
+ */
+public final class MessageTemplate {
+    // Числа до этого значения выглядят одинаково во всех локалях, их можно не передавать в NumberFormat
+    private static final int PLAIN_NUMBER_LIMIT = 1000;
+
+    private final String pattern;
+
+    private final Locale locale;
+
+    // Литералы между подстановками; литералов на один больше, чем подстановок
+    private final String[] literals;
+
+    private final int[] argumentIndexes;
+
+    private final int literalsLength;
+
+    private final MessageFormat messageFormat;
+
+    private MessageTemplate(String pattern, Locale locale, String[] literals, int[] argumentIndexes,
+                            MessageFormat messageFormat) {
+        this.pattern = pattern;
+        this.locale = locale;
+        this.literals = literals;
+        this.argumentIndexes = argumentIndexes;
+        this.messageFormat = messageFormat;
+
+        int length = 0;
+        if (literals != null) {
+            for (String literal : literals) {
+                length += literal.length();
+            }
+        }
+        this.literalsLength = length;
+    }
+
+    public static MessageTemplate compile(String pattern, Locale locale) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> argumentIndexes = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i += 2;
+                    continue;
+                }
+                quoted = !quoted;
+            } else if (c == '{' && !quoted) {
+                int end = pattern.indexOf('}', i);
+                int argumentIndex = end < 0 ? -1 : parseArgumentIndex(pattern, i + 1, end);
+                if (argumentIndex < 0) {
+                    // Сложный формат аргумента (или ошибка в шаблоне) - отдаем MessageFormat как есть
+                    return new MessageTemplate(pattern, locale, null, null, new MessageFormat(pattern, locale));
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                argumentIndexes.add(argumentIndex);
+                i = end;
+            } else {
+                literal.append(c);
+            }
+            i++;
+        }
+        literals.add(literal.toString());
+        return new MessageTemplate(pattern, locale, literals.toArray(String[]::new),
+                argumentIndexes.stream().mapToInt(Integer::intValue).toArray(), null);
+    }
+
+    /**
+     * Форматирует сообщение так же, как MessageSource: без аргументов шаблон возвращается как есть.
+     */
+    public String format(Object... args) {
+        if (args == null || args.length == 0) {
+            return pattern;
+        }
+        if (messageFormat != null) {
+            // MessageFormat не потокобезопасен
+            synchronized (messageFormat) {
+                return messageFormat.format(args);
+            }
+        }
+
+        StringBuilder result = new StringBuilder(literalsLength + argumentIndexes.length * 16);
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            result.append(literals[i]);
+            appendArgument(result, args, argumentIndexes[i]);
+        }
+        return result.append(literals[argumentIndexes.length]).toString();
+    }
+
+    private void appendArgument(StringBuilder result, Object[] args, int argumentIndex) {
+        if (argumentIndex >= args.length) {
+            // Так же ведет себя MessageFormat для отсутствующего аргумента
+            result.append('{').append(argumentIndex).append('}');
+            return;
+        }
+
+        Object argument = args[argumentIndex];
+        if (argument instanceof String string) {
+            result.append(string);
+        } else if (argument instanceof Integer number && number >= 0 && number < PLAIN_NUMBER_LIMIT) {
+            result.append(number.intValue());
+        } else if (argument instanceof Number number) {
+            result.append(NumberFormat.getInstance(locale).format(number));
+        } else if (argument instanceof Date date) {
+            result.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(date));
+        } else {
+            result.append(argument);
+        }
+    }
+
+    private static int parseArgumentIndex(String pattern, int start, int end) {
+        if (start == end || end - start > 9) {
+            return -1;
+        }
+        int argumentIndex = 0;
+        for (int i = start; i < end; i++) {
+            char c = pattern.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            argumentIndex = argumentIndex * 10 + (c - '0');
+        }
+        return argumentIndex;
+    }
+}
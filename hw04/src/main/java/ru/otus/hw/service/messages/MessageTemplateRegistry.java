@@ -0,0 +1,93 @@
+package ru.otus.hw.service.messages;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestFileNameByLocaleProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Таблицы шаблонов сообщений из messages*.properties. Для поддерживаемых локалей собираются при старте,
+ * для остальных - при первом обращении. Файлы ищутся так же, как в ResourceBundleMessageSource
+ * без отката к системной локали: сначала самый точный, затем по языку, затем файл по умолчанию.
+ */
+@Component
+public class MessageTemplateRegistry {
+
+    private final String[] baseNames;
+
+    private final Charset encoding;
+
+    private final Map<Locale, MessageTemplateTable> tablesByLocale = new ConcurrentHashMap<>();
+
+    public MessageTemplateRegistry(TestFileNameByLocaleProvider fileNameByLocaleProvider,
+                                   @Value("${spring.messages.basename:messages}") String baseNames,
+                                   @Value("${spring.messages.encoding:UTF-8}") Charset encoding) {
+        this.baseNames = baseNames.replace(" ", "").split(",");
+        this.encoding = encoding;
+
+        Map<String, String> fileNameByLocaleTag = fileNameByLocaleProvider.getFileNameByLocaleTag();
+        if (fileNameByLocaleTag != null) {
+            fileNameByLocaleTag.keySet().forEach(tag -> getTable(Locale.forLanguageTag(tag)));
+        }
+    }
+
+    public MessageTemplateTable getTable(Locale locale) {
+        return tablesByLocale.computeIfAbsent(locale, this::compile);
+    }
+
+    private MessageTemplateTable compile(Locale locale) {
+        Map<String, String> patterns = new HashMap<>();
+        // Первое базовое имя в списке приоритетнее, поэтому накладываем в обратном порядке
+        for (int i = baseNames.length - 1; i >= 0; i--) {
+            for (String bundleName : getBundleNames(baseNames[i], locale)) {
+                loadPatterns(bundleName, patterns);
+            }
+        }
+
+        Map<String, MessageTemplate> templates = new HashMap<>();
+        patterns.forEach((code, pattern) -> templates.put(code, MessageTemplate.compile(pattern, locale)));
+        return new MessageTemplateTable(locale, templates);
+    }
+
+    // От общего к частному, чтобы более точный файл перекрывал сообщения
+    private static List<String> getBundleNames(String baseName, Locale locale) {
+        String bundleName = baseName.replace('.', '/');
+        List<String> bundleNames = new ArrayList<>();
+        bundleNames.add(bundleName);
+        if (!locale.getLanguage().isEmpty()) {
+            bundleName += "_" + locale.getLanguage();
+            bundleNames.add(bundleName);
+            if (!locale.getCountry().isEmpty()) {
+                bundleName += "_" + locale.getCountry();
+                bundleNames.add(bundleName);
+            }
+        }
+        return bundleNames;
+    }
+
+    private void loadPatterns(String bundleName, Map<String, String> patterns) {
+        InputStream inputStream = getClass().getClassLoader().getResourceAsStream(bundleName + ".properties");
+        if (inputStream == null) {
+            return;
+        }
+        try (var reader = new InputStreamReader(inputStream, encoding)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            properties.forEach((code, pattern) -> patterns.put((String) code, (String) pattern));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
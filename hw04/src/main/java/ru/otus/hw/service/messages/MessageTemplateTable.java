@@ -0,0 +1,18 @@
+package ru.otus.hw.service.messages;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Неизменяемая таблица скомпилированных шаблонов сообщений одной локали.
+ */
+public record MessageTemplateTable(Locale locale, Map<String, MessageTemplate> templates) {
+
+    public MessageTemplateTable {
+        templates = Map.copyOf(templates);
+    }
+
+    public MessageTemplate get(String code) {
+        return templates.get(code);
+    }
+}
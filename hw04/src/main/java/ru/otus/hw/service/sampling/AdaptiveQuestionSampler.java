@@ -0,0 +1,202 @@
+package ru.otus.hw.service.sampling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.dao.results.QuestionStatistics;
+import ru.otus.hw.dao.results.ResultJournal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
+
+/**
+ * Выбор вопросов для экзамена с вероятностью, пропорциональной сложности вопроса.
+ * Сложность - сглаженная доля неправильных ответов: (неправильные + 1) / (все ответы + 2),
+ * так что новые вопросы получают вес 0.5. Начальные счетчики берутся из журнала результатов,
+ * дальше веса обновляются после каждого ответа.
+ * <p>
+ * Веса хранятся в дереве Фенвика, а не в таблице псевдонимов: выбор и обновление веса стоят O(log n),
+ * тогда как таблицу псевдонимов пришлось бы перестраивать за O(n) после каждого ответа.
+ * Как и в журнале результатов, вопрос определяется файлом с вопросами и номером в нем,
+ * поэтому у каждой темы и локали свои веса.
+ * <p>
+ * У каждого файла своя блокировка. Ответы не ждут ее: они складываются в очередь файла, и очередь
+ * применяет тот, кто захватил блокировку, - выбор вопросов перед выбором или сам ответ, если файл свободен.
+ * Поэтому ответ, записанный во время выбора, учитывается не позже следующего выбора.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdaptiveQuestionSampler {
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Сколько раз перевыбирать при попадании на уже выбранный вопрос из-за погрешности double
+    private static final int MAX_SAMPLE_ATTEMPTS = 16;
+
+    private final ResultJournal resultJournal;
+
+    private final Map<String, QuestionWeights> weightsByFileName = new ConcurrentHashMap<>();
+
+    /**
+     * Выбирает count разных вопросов из первых questionCount вопросов файла.
+     * Вопросы возвращаются в порядке выбора, более сложные в среднем раньше.
+     */
+    public int[] sample(String questionFileName, int questionCount, int count, RandomGenerator random) {
+        QuestionWeights questionWeights = getQuestionWeights(questionFileName);
+        questionWeights.lock.lock();
+        try {
+            questionWeights.applyPendingAnswers();
+            questionWeights.ensureCapacity(questionCount);
+            int sampleSize = Math.min(count, questionCount);
+            int[] questionIndexes = new int[sampleSize];
+            // Выбранные вопросы временно получают нулевой вес, чтобы не выбрать их повторно
+            for (int i = 0; i < sampleSize; i++) {
+                int questionIndex = questionWeights.sampleOne(questionCount, random, questionIndexes, i);
+                questionIndexes[i] = questionIndex;
+                questionWeights.tree.add(questionIndex, -questionWeights.weights[questionIndex]);
+            }
+            for (int questionIndex : questionIndexes) {
+                questionWeights.tree.add(questionIndex, questionWeights.weights[questionIndex]);
+            }
+            return questionIndexes;
+        } finally {
+            questionWeights.lock.unlock();
+        }
+    }
+
+    public void recordAnswer(String questionFileName, int questionIndex, boolean isRightAnswer) {
+        QuestionWeights questionWeights = getQuestionWeights(questionFileName);
+        questionWeights.pendingAnswers.add(new PendingAnswer(questionIndex, isRightAnswer));
+        // Занятый файл применит очередь сам, ждать его не нужно
+        if (questionWeights.lock.tryLock()) {
+            try {
+                questionWeights.applyPendingAnswers();
+            } finally {
+                questionWeights.lock.unlock();
+            }
+        }
+    }
+
+    public double getWeight(String questionFileName, int questionIndex) {
+        QuestionWeights questionWeights = getQuestionWeights(questionFileName);
+        questionWeights.lock.lock();
+        try {
+            questionWeights.applyPendingAnswers();
+            questionWeights.ensureCapacity(questionIndex + 1);
+            return questionWeights.weights[questionIndex];
+        } finally {
+            questionWeights.lock.unlock();
+        }
+    }
+
+    private QuestionWeights getQuestionWeights(String questionFileName) {
+        return weightsByFileName.computeIfAbsent(questionFileName,
+                fileName -> new QuestionWeights(resultJournal.getAnsweredQuestionStatistics(fileName)));
+    }
+
+    // Экзамен короткий, линейный поиск по уже выбранным дешевле любого множества
+    private static boolean contains(int[] selected, int selectedCount, int questionIndex) {
+        for (int i = 0; i < selectedCount; i++) {
+            if (selected[i] == questionIndex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double weight(int rightAnswersCount, int wrongAnswersCount) {
+        return (wrongAnswersCount + 1.0) / (rightAnswersCount + wrongAnswersCount + 2.0);
+    }
+
+    private record PendingAnswer(int questionIndex, boolean isRightAnswer) {
+    }
+
+    // Счетчики и веса вопросов одного файла; поля ниже меняются только под lock
+    private static final class QuestionWeights {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Queue<PendingAnswer> pendingAnswers = new ConcurrentLinkedQueue<>();
+
+        private int[] rightAnswersCounts;
+
+        private int[] wrongAnswersCounts;
+
+        // Текущие веса, в дереве те же значения
+        private double[] weights;
+
+        private FenwickTree tree;
+
+        private QuestionWeights(List<QuestionStatistics> history) {
+            int capacity = INITIAL_CAPACITY;
+            for (QuestionStatistics statistics : history) {
+                capacity = Math.max(capacity, statistics.questionIndex() + 1);
+            }
+            rightAnswersCounts = new int[capacity];
+            wrongAnswersCounts = new int[capacity];
+            for (QuestionStatistics statistics : history) {
+                rightAnswersCounts[statistics.questionIndex()] = statistics.rightAnswersCount();
+                wrongAnswersCounts[statistics.questionIndex()] = statistics.wrongAnswersCount();
+            }
+            weights = new double[0];
+            resize(capacity);
+        }
+
+        private void ensureCapacity(int questionCount) {
+            if (questionCount > weights.length) {
+                resize(Math.max(questionCount, weights.length * 2));
+            }
+        }
+
+        private void resize(int capacity) {
+            int oldCapacity = weights.length;
+            rightAnswersCounts = Arrays.copyOf(rightAnswersCounts, capacity);
+            wrongAnswersCounts = Arrays.copyOf(wrongAnswersCounts, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            for (int i = oldCapacity; i < capacity; i++) {
+                weights[i] = weight(rightAnswersCounts[i], wrongAnswersCounts[i]);
+            }
+            tree = new FenwickTree(weights);
+        }
+
+        private void applyPendingAnswers() {
+            PendingAnswer answer;
+            while ((answer = pendingAnswers.poll()) != null) {
+                ensureCapacity(answer.questionIndex() + 1);
+                recordAnswer(answer.questionIndex(), answer.isRightAnswer());
+            }
+        }
+
+        private void recordAnswer(int questionIndex, boolean isRightAnswer) {
+            if (isRightAnswer) {
+                rightAnswersCounts[questionIndex]++;
+            } else {
+                wrongAnswersCounts[questionIndex]++;
+            }
+            double weight = weight(rightAnswersCounts[questionIndex], wrongAnswersCounts[questionIndex]);
+            tree.add(questionIndex, weight - weights[questionIndex]);
+            weights[questionIndex] = weight;
+        }
+
+        private int sampleOne(int questionCount, RandomGenerator random, int[] selected, int selectedCount) {
+            double rangeWeight = tree.prefixSum(questionCount);
+            for (int attempt = 0; attempt < MAX_SAMPLE_ATTEMPTS; attempt++) {
+                int questionIndex = tree.find(random.nextDouble() * rangeWeight);
+                if (questionIndex < questionCount && !contains(selected, selectedCount, questionIndex)) {
+                    return questionIndex;
+                }
+            }
+            // Сюда попадаем только из-за накопленной погрешности - берем любой еще не выбранный вопрос
+            for (int questionIndex = 0; questionIndex < questionCount; questionIndex++) {
+                if (!contains(selected, selectedCount, questionIndex)) {
+                    return questionIndex;
+                }
+            }
+            throw new IllegalStateException("No questions left to sample");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.otus.hw.service.sampling;
+
+/**
+ * Дерево Фенвика над неотрицательными весами: изменение веса, префиксная сумма
+ * и поиск элемента по накопленному весу за O(log n).
+ */
+final class FenwickTree {
+
+    // Индексация с 1, как принято для дерева Фенвика
+    private final double[] tree;
+
+    private final int size;
+
+    private final int highestStep;
+
+    FenwickTree(double[] weights) {
+        this.size = weights.length;
+        this.tree = new double[size + 1];
+        this.highestStep = size == 0 ? 0 : Integer.highestOneBit(size);
+        // Построение за O(n): каждый узел передает свою сумму родителю
+        for (int i = 1; i <= size; i++) {
+            tree[i] += weights[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int index, double delta) {
+        for (int i = index + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Сумма весов элементов [0, count)
+    double prefixSum(int count) {
+        double sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // Наименьший индекс, для которого сумма весов [0, index] больше target
+    int find(double target) {
+        int position = 0;
+        for (int step = highestStep; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= size && tree[next] <= target) {
+                position = next;
+                target -= tree[next];
+            }
+        }
+        return position;
+    }
+}
@@ -0,0 +1,98 @@
+package ru.otus.hw.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.otus.hw.dao.parser.OpenCsvQuestionParser;
+import ru.otus.hw.dao.parser.QuestionParser;
+import ru.otus.hw.dao.parser.StreamingQuestionParser;
+import ru.otus.hw.domain.Question;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Сравнение разбора файла вопросов через opencsv и потоковым парсером.
+// Запускается через main (тестовый classpath), для замера аллокаций добавить профайлер -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuestionParserBenchmark {
+
+    @Param({"100000"})
+    private int questionsCount;
+
+    private final QuestionParser openCsvParser = new OpenCsvQuestionParser();
+
+    private final QuestionParser streamingParser = new StreamingQuestionParser();
+
+    private Path questionsFile;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QuestionParserBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void createQuestionsFile() throws IOException {
+        questionsFile = Files.createTempFile("benchmark-questions", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(questionsFile, StandardCharsets.UTF_8)) {
+            writer.write("# text;answer1%isCorrect1|answer2%isCorrect2|answer3%isCorrect3|answer4%isCorrect4");
+            writer.newLine();
+            for (int i = 0; i < questionsCount; i++) {
+                int correctAnswer = i % 4;
+                writer.write("Question number " + i + " about something important?;");
+                for (int answer = 0; answer < 4; answer++) {
+                    if (answer > 0) {
+                        writer.write('|');
+                    }
+                    writer.write("Answer " + answer + " for question " + i + '%' + (answer == correctAnswer));
+                }
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteQuestionsFile() throws IOException {
+        Files.deleteIfExists(questionsFile);
+    }
+
+    @Benchmark
+    public List<Question> openCsv() throws IOException {
+        return parse(openCsvParser);
+    }
+
+    @Benchmark
+    public List<Question> streaming() throws IOException {
+        return parse(streamingParser);
+    }
+
+    private List<Question> parse(QuestionParser parser) throws IOException {
+        try (Reader reader = Files.newBufferedReader(questionsFile, StandardCharsets.UTF_8)) {
+            return parser.parse(reader);
+        }
+    }
+}
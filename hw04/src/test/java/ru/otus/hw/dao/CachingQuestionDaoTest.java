@@ -0,0 +1,152 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = {CachingQuestionDao.class})
+@DisplayName("Кэш вопросов по имени файла")
+class CachingQuestionDaoTest {
+
+    private static final String EN_QUESTIONS_CSV = "questions.csv";
+
+    private static final String RU_QUESTIONS_CSV = "questions_ru.csv";
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    @MockitoBean(name = QuestionDao.SOURCE_QUALIFIER)
+    private QuestionDao sourceQuestionDao;
+
+    @MockitoBean
+    private QuestionEvictionListener evictionListener;
+
+    @Autowired
+    private CachingQuestionDao cachingQuestionDao;
+
+    private List<Question> enQuestions;
+
+    private List<Question> ruQuestions;
+
+    @BeforeEach
+    void setUp() {
+        cachingQuestionDao.evictAll();
+        clearInvocations(sourceQuestionDao, evictionListener);
+        enQuestions = List.of(new Question("Question", List.of(new Answer("Answer", true))));
+        ruQuestions = List.of(new Question("Вопрос", List.of(new Answer("Ответ", true))));
+    }
+
+    @Test
+    @DisplayName("Должен читать файл из источника один раз и дальше отдавать снимок")
+    void shouldLoadFileOnlyOnce() {
+        // Given
+        given(fileNameProvider.getTestFileName()).willReturn(EN_QUESTIONS_CSV);
+        given(sourceQuestionDao.findAllByFileName(EN_QUESTIONS_CSV)).willReturn(enQuestions);
+        var statsBefore = cachingQuestionDao.getStats();
+
+        // When
+        var firstQuestions = cachingQuestionDao.findAll();
+        var secondQuestions = cachingQuestionDao.findAll();
+
+        // Then
+        assertThat(firstQuestions).isEqualTo(enQuestions).isSameAs(secondQuestions);
+        assertThatThrownBy(() -> firstQuestions.add(enQuestions.get(0)))
+                .isInstanceOf(UnsupportedOperationException.class);
+        verify(sourceQuestionDao, times(1)).findAllByFileName(EN_QUESTIONS_CSV);
+
+        var stats = cachingQuestionDao.getStats();
+        assertThat(stats.missCount() - statsBefore.missCount()).isEqualTo(1);
+        assertThat(stats.hitCount() - statsBefore.hitCount()).isEqualTo(1);
+        assertThat(stats.loadCount() - statsBefore.loadCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Должен обращаться к вопросам источника лениво и по одному разу")
+    void shouldReadSourceQuestionsLazilyAndOnce() {
+        // Given
+        List<Question> sourceQuestions = spy(new ArrayList<>(List.of(
+                new Question("First", List.of(new Answer("Answer", true))),
+                new Question("Second", List.of(new Answer("Answer", true))))));
+        given(fileNameProvider.getTestFileName()).willReturn(EN_QUESTIONS_CSV);
+        given(sourceQuestionDao.findAllByFileName(EN_QUESTIONS_CSV)).willReturn(sourceQuestions);
+
+        // When
+        var questions = cachingQuestionDao.findAll();
+        var firstQuestion = questions.get(0);
+
+        // Then
+        assertThat(questions).hasSize(2);
+        assertThat(cachingQuestionDao.findAll().get(0)).isSameAs(firstQuestion);
+        verify(sourceQuestions, times(1)).get(0);
+        verify(sourceQuestions, never()).get(1);
+    }
+
+    @Test
+    @DisplayName("Должен переключать снимки при смене языка без повторного чтения")
+    void shouldSwitchSnapshotsWithoutReloading() {
+        // Given
+        given(fileNameProvider.getTestFileName())
+                .willReturn(EN_QUESTIONS_CSV, RU_QUESTIONS_CSV, EN_QUESTIONS_CSV, RU_QUESTIONS_CSV);
+        given(sourceQuestionDao.findAllByFileName(EN_QUESTIONS_CSV)).willReturn(enQuestions);
+        given(sourceQuestionDao.findAllByFileName(RU_QUESTIONS_CSV)).willReturn(ruQuestions);
+
+        // When & Then
+        assertThat(cachingQuestionDao.findAll()).isEqualTo(enQuestions);
+        assertThat(cachingQuestionDao.findAll()).isEqualTo(ruQuestions);
+        assertThat(cachingQuestionDao.findAll()).isEqualTo(enQuestions);
+        assertThat(cachingQuestionDao.findAll()).isEqualTo(ruQuestions);
+        verify(sourceQuestionDao, times(1)).findAllByFileName(EN_QUESTIONS_CSV);
+        verify(sourceQuestionDao, times(1)).findAllByFileName(RU_QUESTIONS_CSV);
+    }
+
+    @Test
+    @DisplayName("Должен перечитывать файл после сброса кэша")
+    void shouldReloadAfterEviction() {
+        // Given
+        given(fileNameProvider.getTestFileName()).willReturn(EN_QUESTIONS_CSV);
+        given(sourceQuestionDao.findAllByFileName(EN_QUESTIONS_CSV)).willReturn(enQuestions);
+        cachingQuestionDao.findAll();
+
+        // When
+        cachingQuestionDao.evict(EN_QUESTIONS_CSV);
+        cachingQuestionDao.findAll();
+
+        // Then
+        verify(sourceQuestionDao, times(2)).findAllByFileName(EN_QUESTIONS_CSV);
+        verify(sourceQuestionDao, times(1)).evict(EN_QUESTIONS_CSV);
+        verify(evictionListener, times(1)).onQuestionsEvicted(EN_QUESTIONS_CSV);
+    }
+
+    @Test
+    @DisplayName("Не должен кэшировать ошибку чтения")
+    void shouldNotCacheReadErrors() {
+        // Given
+        given(fileNameProvider.getTestFileName()).willReturn(EN_QUESTIONS_CSV);
+        given(sourceQuestionDao.findAllByFileName(EN_QUESTIONS_CSV))
+                .willThrow(new QuestionReadException("Error"))
+                .willReturn(enQuestions);
+
+        // When & Then
+        assertThatThrownBy(() -> cachingQuestionDao.findAll()).isInstanceOf(QuestionReadException.class);
+        assertThat(cachingQuestionDao.findAll()).isEqualTo(enQuestions);
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.parser.OpenCsvQuestionParser;
 import ru.otus.hw.domain.Question;
 import ru.otus.hw.exceptions.QuestionReadException;
 
@@ -17,7 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.BDDMockito.given;
 
-@SpringBootTest(classes = {CsvQuestionDao.class})
+@SpringBootTest(classes = {CsvQuestionDao.class, OpenCsvQuestionParser.class})
 @DisplayName("Тестирование DAO для чтения вопросов из CSV-файла")
 class CsvQuestionDaoTest {
     // Сообщение об ошибке, если в файле нет вопросов.
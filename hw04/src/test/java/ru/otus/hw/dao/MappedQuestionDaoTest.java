@@ -0,0 +1,131 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.QuestionBankConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.bank.QuestionBank;
+import ru.otus.hw.dao.bank.QuestionBankCompiler;
+import ru.otus.hw.dao.parser.OpenCsvQuestionParser;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest(classes = {MappedQuestionDao.class, QuestionBankCompiler.class, OpenCsvQuestionParser.class},
+        properties = "test.question-source=binary")
+@DisplayName("Тестирование DAO для чтения вопросов из скомпилированного банка")
+class MappedQuestionDaoTest {
+    // Сообщение об ошибке при чтении файла.
+    private static final String ERROR_READING_FILE = "Error reading file '%s'";
+
+    // Сообщение об ошибке, если файл не может быть прочитан.
+    private static final String CANT_READ_FILE = "Can't start read file with questions: %s";
+
+    // Файл с тестовыми вопросами.
+    private static final String TEST_QUESTIONS_CSV = "test-questions.csv";
+
+    // Файл, которого нет в ресурсах.
+    private static final String NON_EXISTENT_FILE_CSV = "non-existent-file.csv";
+
+    @TempDir
+    Path bankDirectory;
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    @MockitoBean
+    private QuestionBankConfig questionBankConfig;
+
+    @Autowired
+    private MappedQuestionDao mappedQuestionDao;
+
+    @BeforeEach
+    void setUp() {
+        given(questionBankConfig.getQuestionBankDirectory()).willReturn(bankDirectory.toString());
+    }
+
+    @Test
+    @DisplayName("Должен собирать банк из CSV и читать те же вопросы, что и CSV DAO")
+    void shouldReadSameQuestionsAsCsvDao() {
+        // Given
+        given(fileNameProvider.getTestFileName()).willReturn(TEST_QUESTIONS_CSV);
+        List<Question> expectedQuestions =
+                new CsvQuestionDao(() -> TEST_QUESTIONS_CSV, new OpenCsvQuestionParser()).findAll();
+
+        // When
+        List<Question> questions = mappedQuestionDao.findAll();
+
+        // Then
+        assertThat(questions).hasSize(3).containsExactlyElementsOf(expectedQuestions);
+        assertThat(bankDirectory.resolve("test-questions.qbank")).exists();
+    }
+
+    @Test
+    @DisplayName("Не должен пересобирать банк, если исходный CSV не менялся")
+    void shouldNotRecompileUnchangedBank() throws IOException {
+        // Given
+        var compiler = new QuestionBankCompiler(questionBankConfig, new OpenCsvQuestionParser());
+        Path bankPath = compiler.compile(TEST_QUESTIONS_CSV);
+        var lastModified = Files.getLastModifiedTime(bankPath);
+
+        // When
+        Path recompiledPath = compiler.compile(TEST_QUESTIONS_CSV);
+
+        // Then
+        assertThat(recompiledPath).isEqualTo(bankPath);
+        assertThat(Files.getLastModifiedTime(recompiledPath)).isEqualTo(lastModified);
+    }
+
+    @Test
+    @DisplayName("Должен пересобирать открытый банк, если исходный CSV изменился")
+    void shouldRebuildOpenBankWhenSourceChanges() throws Exception {
+        // Given
+        given(fileNameProvider.getTestFileName()).willReturn(TEST_QUESTIONS_CSV);
+        Path sourcePath = Path.of(getClass().getClassLoader().getResource(TEST_QUESTIONS_CSV).toURI());
+        FileTime sourceLastModified = Files.getLastModifiedTime(sourcePath);
+        Path bankPath = bankDirectory.resolve("test-questions.qbank");
+        List<Question> questions = mappedQuestionDao.findAll();
+
+        try {
+            // When
+            FileTime changedLastModified = FileTime.fromMillis(sourceLastModified.toMillis() + 10_000);
+            Files.setLastModifiedTime(sourcePath, changedLastModified);
+            List<Question> rebuiltQuestions = mappedQuestionDao.findAll();
+
+            // Then
+            assertThat(rebuiltQuestions).isNotSameAs(questions).containsExactlyElementsOf(questions);
+            assertThat(QuestionBank.readSourceLastModified(bankPath)).isEqualTo(changedLastModified.toMillis());
+        } finally {
+            Files.setLastModifiedTime(sourcePath, sourceLastModified);
+        }
+    }
+
+    @Test
+    @DisplayName("Должен бросать исключение, если файл не найден")
+    void shouldThrowExceptionWhenFileNotFound() {
+        // Given
+        given(fileNameProvider.getTestFileName()).willReturn(NON_EXISTENT_FILE_CSV);
+
+        // When & Then
+        assertThatThrownBy(() -> mappedQuestionDao.findAll())
+                .isInstanceOf(QuestionReadException.class)
+                .hasMessageContaining(String.format(ERROR_READING_FILE, NON_EXISTENT_FILE_CSV))
+                .cause()
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining(String.format(CANT_READ_FILE, NON_EXISTENT_FILE_CSV));
+    }
+}
@@ -0,0 +1,100 @@
+package ru.otus.hw.dao.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = {StreamingQuestionParser.class}, properties = "test.csv-parser=streaming")
+@DisplayName("Потоковый парсер вопросов")
+class StreamingQuestionParserTest {
+
+    // Сообщение об ошибке при парсинге CSV.
+    private static final String ERROR_PARSING_FILE = "Error parsing CSV file";
+
+    @Autowired
+    private StreamingQuestionParser parser;
+
+    @Test
+    @DisplayName("Должен разбирать файл так же, как opencsv")
+    void shouldParseSameQuestionsAsOpenCsv() throws IOException {
+        List<Question> expected;
+        try (Reader reader = openResource("test-questions.csv")) {
+            expected = new OpenCsvQuestionParser().parse(reader);
+        }
+
+        List<Question> actual;
+        try (Reader reader = openResource("test-questions.csv")) {
+            actual = parser.parse(reader);
+        }
+
+        assertThat(actual).hasSize(3).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("Должен учитывать кавычки, переводы строк CRLF и пропускать пустые строки")
+    void shouldHandleQuotesAndLineEndings() throws IOException {
+        String csv = "# header\r\n"
+                + "\"Text; with \"\"quotes\"\"\";Yes%TRUE|No%false\r\n"
+                + "\r\n"
+                + "Second;One%false|Two%true;ignored column";
+
+        List<Question> questions = parser.parse(new StringReader(csv));
+
+        assertThat(questions).containsExactly(
+                new Question("Text; with \"quotes\"", List.of(new Answer("Yes", true), new Answer("No", false))),
+                new Question("Second", List.of(new Answer("One", false), new Answer("Two", true))));
+    }
+
+    @Test
+    @DisplayName("Должен сохранять разделители ответов внутри кавычек в тексте ответа")
+    void shouldKeepSeparatorsInsideQuotedAnswers() throws IOException {
+        String csv = "# header\n"
+                + "Which is true?;\"Java | Kotlin\"%true|\"100% sure\"%false\n";
+
+        List<Question> questions = parser.parse(new StringReader(csv));
+
+        assertThat(questions).containsExactly(new Question("Which is true?",
+                List.of(new Answer("Java | Kotlin", true), new Answer("100% sure", false))));
+    }
+
+    @Test
+    @DisplayName("Должен бросать исключение, если формат записи вопроса некорректный")
+    void shouldThrowExceptionWhenQuestionFormatIsIncorrect() {
+        assertThatThrownBy(() -> {
+            try (Reader reader = openResource("invalid-format-questions.csv")) {
+                parser.parse(reader);
+            }
+        })
+                .isInstanceOf(QuestionReadException.class)
+                .hasMessageContaining(ERROR_PARSING_FILE);
+    }
+
+    @Test
+    @DisplayName("Должен возвращать пустой список для пустого файла")
+    void shouldReturnEmptyListForEmptyFile() throws IOException {
+        try (Reader reader = openResource("empty-questions.csv")) {
+            assertThat(parser.parse(reader)).isEmpty();
+        }
+    }
+
+    private Reader openResource(String fileName) {
+        return new InputStreamReader(
+                Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream(fileName)),
+                StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,166 @@
+package ru.otus.hw.dao.results;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Журнал результатов тестирования")
+class ResultJournalTest {
+
+    private static final Question QUESTION = new Question("Question", List.of());
+
+    private static final String QUESTION_FILE_NAME = "questions.csv";
+
+    @TempDir
+    Path journalDirectory;
+
+    private ResultJournal resultJournal;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        resultJournal.destroy();
+    }
+
+    @Test
+    @DisplayName("Должен считать сданные попытки и сортировать вопросы по сложности")
+    void shouldCountAttemptsAndHardestQuestions() {
+        // Given
+        resultJournal = new ResultJournal(() -> journalDirectory.resolve("results.journal").toString());
+
+        // When
+        resultJournal.append(createResult(true, true, false), true);
+        resultJournal.append(createResult(true, false, false), false);
+
+        // Then
+        ResultStatistics statistics = resultJournal.getStatistics(2);
+        assertThat(statistics.attemptsCount()).isEqualTo(2);
+        assertThat(statistics.passedCount()).isEqualTo(1);
+        assertThat(statistics.hardestQuestions()).containsExactly(
+                new QuestionStatistics(QUESTION_FILE_NAME, 2, 0, 2),
+                new QuestionStatistics(QUESTION_FILE_NAME, 1, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Должен сохранять статистику между запусками без перечитывания записей")
+    void shouldKeepStatisticsAfterReopen() throws IOException {
+        // Given
+        String journalFile = journalDirectory.resolve("results.journal").toString();
+        resultJournal = new ResultJournal(() -> journalFile);
+        for (int i = 0; i < 5000; i++) {
+            resultJournal.append(createResult(true), true);
+        }
+        resultJournal.destroy();
+
+        // When
+        resultJournal = new ResultJournal(() -> journalFile);
+        ResultStatistics statistics = resultJournal.getStatistics(1);
+
+        // Then
+        assertThat(statistics.attemptsCount()).isEqualTo(5000);
+        assertThat(statistics.passRate()).isEqualTo(1.0);
+        assertThat(statistics.hardestQuestions())
+                .containsExactly(new QuestionStatistics(QUESTION_FILE_NAME, 0, 5000, 0));
+    }
+
+    @Test
+    @DisplayName("Должен дописывать пачку попыток, пропуская попытки без ответов")
+    void shouldAppendAllAnsweredResults() {
+        // Given
+        resultJournal = new ResultJournal(() -> journalDirectory.resolve("results.journal").toString());
+        TestResult passed = createResult(true, true);
+        passed.setRightAnswersCountToPass(2);
+        TestResult failed = createResult(false, true);
+        failed.setRightAnswersCountToPass(2);
+
+        // When
+        resultJournal.appendAll(List.of(passed, createResult(), failed));
+
+        // Then
+        ResultStatistics statistics = resultJournal.getStatistics(1);
+        assertThat(statistics.attemptsCount()).isEqualTo(2);
+        assertThat(statistics.passedCount()).isEqualTo(1);
+        assertThat(statistics.hardestQuestions()).containsExactly(new QuestionStatistics(QUESTION_FILE_NAME, 0, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Должен вести счетчики вопросов с одинаковыми номерами из разных файлов раздельно")
+    void shouldCountQuestionsPerFile() {
+        // Given
+        resultJournal = new ResultJournal(() -> journalDirectory.resolve("results.journal").toString());
+        TestResult testResult = createResult(true);
+        testResult.applyAnswer("questions-spring.csv", 0, QUESTION, false);
+
+        // When
+        resultJournal.append(testResult, false);
+
+        // Then
+        assertThat(resultJournal.getAnsweredQuestionStatistics(QUESTION_FILE_NAME))
+                .containsExactly(new QuestionStatistics(QUESTION_FILE_NAME, 0, 1, 0));
+        assertThat(resultJournal.getAnsweredQuestionStatistics("questions-spring.csv"))
+                .containsExactly(new QuestionStatistics("questions-spring.csv", 0, 0, 1));
+        assertThat(resultJournal.getAnsweredQuestionStatistics("questions_ru.csv")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Должен расширять счетчики под номера вопросов большого банка и сохранять их между запусками")
+    void shouldGrowCountersForLargeQuestionIndexes() throws IOException {
+        // Given
+        String journalFile = journalDirectory.resolve("results.journal").toString();
+        resultJournal = new ResultJournal(() -> journalFile);
+        TestResult testResult = createResult(true);
+        testResult.applyAnswer(QUESTION_FILE_NAME, 5000, QUESTION, false);
+        testResult.applyAnswer("questions-spring.csv", 100_000, QUESTION, true);
+
+        // When
+        resultJournal.append(testResult, false);
+        resultJournal.append(createResult(false), false);
+        resultJournal.destroy();
+        resultJournal = new ResultJournal(() -> journalFile);
+        resultJournal.append(createResult(true), true);
+
+        // Then
+        assertThat(resultJournal.getAnsweredQuestionStatistics(QUESTION_FILE_NAME)).containsExactly(
+                new QuestionStatistics(QUESTION_FILE_NAME, 0, 2, 1),
+                new QuestionStatistics(QUESTION_FILE_NAME, 5000, 0, 1));
+        assertThat(resultJournal.getAnsweredQuestionStatistics("questions-spring.csv"))
+                .containsExactly(new QuestionStatistics("questions-spring.csv", 100_000, 1, 0));
+        assertThat(resultJournal.getStatistics(10).attemptsCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Должен отклонять попытку с отрицательным номером вопроса, ничего не записывая")
+    void shouldRejectNegativeQuestionIndex() {
+        // Given
+        resultJournal = new ResultJournal(() -> journalDirectory.resolve("results.journal").toString());
+        TestResult outOfRange = createResult(true);
+        outOfRange.applyAnswer(QUESTION_FILE_NAME, -1, QUESTION, true);
+
+        // When & Then
+        assertThatThrownBy(() -> resultJournal.append(outOfRange, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> resultJournal.appendAll(List.of(createResult(true), outOfRange)))
+                .isInstanceOf(IllegalArgumentException.class);
+        ResultStatistics statistics = resultJournal.getStatistics(1);
+        assertThat(statistics.attemptsCount()).isZero();
+        assertThat(statistics.hardestQuestions()).isEmpty();
+    }
+
+    private static TestResult createResult(boolean... rightAnswers) {
+        TestResult testResult = new TestResult(new Student("Ivan", "Ivanov"));
+        for (int i = 0; i < rightAnswers.length; i++) {
+            testResult.applyAnswer(QUESTION_FILE_NAME, i, QUESTION, rightAnswers[i]);
+        }
+        return testResult;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.otus.hw.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Гистограмма задержек")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Должен хранить малые значения точно")
+    void shouldRecordSmallValuesExactly() {
+        // Given
+        var histogram = new LatencyHistogram();
+
+        // When
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        // Then
+        assertThat(histogram.getTotalCount()).isEqualTo(100);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(50);
+        assertThat(histogram.getValueAtPercentile(99)).isEqualTo(99);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Должен давать перцентили больших значений с относительной погрешностью не больше 1/64")
+    void shouldKeepRelativePrecision() {
+        // Given
+        var histogram = new LatencyHistogram();
+
+        // When
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        // Then
+        assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(500_000_000, within(500_000_000 / 64.0));
+        assertThat((double) histogram.getValueAtPercentile(99.9)).isCloseTo(999_000_000, within(999_000_000 / 64.0));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1_000_000_000);
+        assertThat(histogram.getMaxValue()).isEqualTo(1_000_000_000);
+    }
+
+    @Test
+    @DisplayName("Должен возвращать ноль для пустой гистограммы")
+    void shouldReturnZeroWhenEmpty() {
+        // When & Then
+        assertThat(new LatencyHistogram().getValueAtPercentile(99)).isZero();
+    }
+}
@@ -0,0 +1,115 @@
+package ru.otus.hw.loadtest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.MessageSource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.service.converters.QuestionConverter;
+import ru.otus.hw.service.messages.MessageTemplateRegistry;
+import ru.otus.hw.service.messages.MessageTemplateTable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest(classes = {LoadTestServiceImpl.class})
+@DisplayName("Нагрузочный тест с симулированными студентами")
+class LoadTestServiceImplTest {
+
+    @MockitoBean(name = "messageSource")
+    private MessageSource messageSource;
+
+    @MockitoBean
+    private MessageTemplateRegistry messageTemplateRegistry;
+
+    @MockitoBean
+    private QuestionDao questionDao;
+
+    @MockitoBean
+    private QuestionConverter questionConverter;
+
+    @MockitoBean
+    private TestConfig testConfig;
+
+    @MockitoBean
+    private TestFileNameProvider testFileNameProvider;
+
+    @MockitoBean
+    private LocaleConfig localeConfig;
+
+    @Autowired
+    private LoadTestService loadTestService;
+
+    @BeforeEach
+    void setUp() {
+        given(messageSource.getMessage(anyString(), any(), any(Locale.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        given(messageTemplateRegistry.getTable(any()))
+                .willAnswer(invocation -> new MessageTemplateTable(invocation.getArgument(0), Map.of()));
+        given(questionConverter.convertQuestionToString(any(), anyInt())).willReturn("Question");
+        given(testConfig.getRightAnswersCountToPass()).willReturn(1);
+        given(testFileNameProvider.getTestFileName()).willReturn("questions.csv");
+        given(localeConfig.getLocale()).willReturn(Locale.forLanguageTag("en-US"));
+
+        var singleChoice = new Question("Single", List.of(new Answer("Wrong", false), new Answer("Right", true)));
+        var multipleChoice = new Question("Multiple", List.of(new Answer("Right", true), new Answer("Wrong", false),
+                new Answer("Right", true)));
+        given(questionDao.findAll()).willReturn(List.of(singleChoice, multipleChoice));
+    }
+
+    @Test
+    @DisplayName("Должен проводить всех студентов через тест и измерять задержку каждого ответа")
+    void shouldRunAllStudents() {
+        // When
+        LoadTestReport report = loadTestService.run(8, 1, 42);
+
+        // Then
+        assertThat(report.studentsCount()).isEqualTo(8);
+        assertThat(report.completedTestsCount()).isEqualTo(8);
+        assertThat(report.failedTestsCount()).isZero();
+        assertThat(report.answersCount()).isEqualTo(16);
+        assertThat(report.questionLatencies().getTotalCount()).isEqualTo(16);
+        assertThat(report.wallTimeNanos()).isPositive();
+        assertThat(report.testsPerSecond()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Должен считать упавшие тесты, если банк вопросов не читается")
+    void shouldCountFailedStudents() {
+        // Given
+        given(questionDao.findAll()).willThrow(new IllegalStateException("Broken question bank"));
+
+        // When
+        LoadTestReport report = loadTestService.run(3, 0, 42);
+
+        // Then
+        assertThat(report.completedTestsCount()).isZero();
+        assertThat(report.failedTestsCount()).isEqualTo(3);
+        assertThat(report.answersCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Должен отклонять некорректное число студентов")
+    void shouldRejectInvalidStudentsCount() {
+        // When & Then
+        assertThatThrownBy(() -> loadTestService.run(0, 0, 42)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> loadTestService.run(LoadTestServiceImpl.MAX_STUDENTS + 1, 0, 42))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
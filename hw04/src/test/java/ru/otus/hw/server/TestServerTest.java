@@ -0,0 +1,149 @@
+package ru.otus.hw.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.MessageSource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameByLocaleProvider;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.dao.results.ResultJournal;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.service.EncodedLine;
+import ru.otus.hw.service.converters.QuestionConverter;
+import ru.otus.hw.service.messages.MessageTemplateRegistry;
+import ru.otus.hw.service.messages.MessageTemplateTable;
+import ru.otus.hw.service.sampling.AdaptiveQuestionSampler;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = {TestServer.class, TestSessionFactory.class})
+@DisplayName("Сервер одновременного тестирования нескольких студентов")
+class TestServerTest {
+
+    private static final String RU_QUESTIONS_CSV = "questions_ru.csv";
+
+    private static final String EN_QUESTIONS_CSV = "questions.csv";
+
+    @MockitoBean(name = "messageSource")
+    private MessageSource messageSource;
+
+    @MockitoBean
+    private MessageTemplateRegistry messageTemplateRegistry;
+
+    @MockitoBean
+    private QuestionDao questionDao;
+
+    @MockitoBean
+    private QuestionConverter questionConverter;
+
+    @MockitoBean
+    private TestConfig testConfig;
+
+    @MockitoBean
+    private ResultJournal resultJournal;
+
+    @MockitoBean
+    private AdaptiveQuestionSampler questionSampler;
+
+    @MockitoBean
+    private LocaleConfig localeConfig;
+
+    @MockitoBean
+    private TestFileNameByLocaleProvider fileNameByLocaleProvider;
+
+    @Autowired
+    private TestServer testServer;
+
+    @BeforeEach
+    void setUp() {
+        // Вместо текста сообщения возвращаем его код, чтобы проверять вывод сессии
+        given(messageSource.getMessage(anyString(), any(), any(Locale.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        given(messageTemplateRegistry.getTable(any()))
+                .willAnswer(invocation -> new MessageTemplateTable(invocation.getArgument(0), Map.of()));
+        given(questionConverter.convertQuestionToString(any(), anyInt())).willReturn("Question");
+        given(questionConverter.convertQuestionToEncodedLine(any(), anyInt(), any()))
+                .willAnswer(invocation -> EncodedLine.encode("Question", invocation.getArgument(2)));
+        given(testConfig.getRightAnswersCountToPass()).willReturn(1);
+        given(localeConfig.getLocale()).willReturn(Locale.forLanguageTag("ru-RU"));
+        given(fileNameByLocaleProvider.getFileNameByLocaleTag())
+                .willReturn(Map.of("ru-RU", RU_QUESTIONS_CSV, "en-US", EN_QUESTIONS_CSV));
+
+        var question = new Question("Question", List.of(new Answer("Wrong", false), new Answer("Right", true)));
+        given(questionDao.findAllByFileName(anyString())).willReturn(List.of(question));
+    }
+
+    @AfterEach
+    void tearDown() {
+        testServer.stop();
+    }
+
+    @Test
+    @DisplayName("Должен независимо тестировать нескольких студентов в их локалях")
+    void shouldRunIndependentSessionsConcurrently() throws Exception {
+        // Given
+        int port = testServer.start(0);
+
+        // When
+        var englishStudent = CompletableFuture.supplyAsync(() -> runStudent(port, "en-US\nJohn\nSmith\n2\n"));
+        var russianStudent = CompletableFuture.supplyAsync(() -> runStudent(port, "\nIvan\nIvanov\n1\n"));
+
+        // Then
+        assertThat(englishStudent.get())
+                .contains("TestSession.locale.prompt", "ResultService.passed.test", "TestSession.goodbye");
+        assertThat(russianStudent.get())
+                .contains("ResultService.fail.test", "TestSession.goodbye");
+        verify(questionDao).findAllByFileName(EN_QUESTIONS_CSV);
+        verify(questionDao).findAllByFileName(RU_QUESTIONS_CSV);
+        verify(resultJournal, times(2)).append(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Должен освобождать порт после остановки")
+    void shouldStopServer() throws IOException {
+        // Given
+        testServer.start(0);
+
+        // When
+        testServer.stop();
+
+        // Then
+        assertThat(testServer.isRunning()).isFalse();
+        assertThat(testServer.getPort()).isEqualTo(-1);
+    }
+
+    private static String runStudent(int port, String input) {
+        try (var socket = new Socket("localhost", port)) {
+            var out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            out.print(input);
+            out.flush();
+            socket.shutdownOutput();
+            return new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
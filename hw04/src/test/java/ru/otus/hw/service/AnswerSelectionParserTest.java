@@ -0,0 +1,40 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.otus.hw.service.AnswerSelectionParser.INVALID_SELECTION;
+
+@DisplayName("Разбор выбора нескольких ответов")
+class AnswerSelectionParserTest {
+
+    @Test
+    @DisplayName("Должен собирать номера через запятую и пробелы в маску")
+    void shouldParseSelectionToMask() {
+        // When & Then
+        assertThat(AnswerSelectionParser.parse("1,3", 1, 4)).isEqualTo(0b101);
+        assertThat(AnswerSelectionParser.parse(" 4 , 2,, 2 ", 1, 4)).isEqualTo(0b1010);
+        assertThat(AnswerSelectionParser.parse("64", 1, 64)).isEqualTo(Long.MIN_VALUE);
+        assertThat(AnswerSelectionParser.parse("student;1;2,3", 10, 13, 1, 4)).isEqualTo(0b110);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " , ", "0", "5", "1;2", "1,x", "-1", "99999999999"})
+    @DisplayName("Должен возвращать пустую маску для некорректного выбора")
+    void shouldRejectInvalidSelection(String text) {
+        // When & Then
+        assertThat(AnswerSelectionParser.parse(text, 1, 4)).isEqualTo(INVALID_SELECTION);
+    }
+
+    @Test
+    @DisplayName("Должен отклонять диапазон, который не помещается в маску")
+    void shouldRejectTooWideRange() {
+        // When & Then
+        assertThatThrownBy(() -> AnswerSelectionParser.parse("1", 1, 65))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
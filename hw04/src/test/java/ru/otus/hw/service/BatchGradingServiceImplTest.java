@@ -0,0 +1,232 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.TestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest(classes = {BatchGradingServiceImpl.class})
+@DisplayName("Пакетная проверка бланков ответов")
+class BatchGradingServiceImplTest {
+
+    private static final String HEADER = "student;question;answer";
+
+    @TempDir
+    Path tempDirectory;
+
+    @MockitoBean
+    private QuestionDao questionDao;
+
+    @MockitoBean
+    private TestConfig testConfig;
+
+    @MockitoBean
+    private TestFileNameProvider testFileNameProvider;
+
+    @Autowired
+    private BatchGradingServiceImpl batchGradingService;
+
+    @BeforeEach
+    void setUp() {
+        given(questionDao.findAll()).willReturn(List.of(
+                new Question("Question 1", List.of(new Answer("Right", true), new Answer("Wrong", false))),
+                new Question("Question 2", List.of(new Answer("Wrong", false), new Answer("Right", true))),
+                new Question("Question 3", List.of(new Answer("Right", true), new Answer("Wrong", false)))));
+        given(testConfig.getRightAnswersCountToPass()).willReturn(2);
+        given(testFileNameProvider.getTestFileName()).willReturn("questions.csv");
+    }
+
+    @Test
+    @DisplayName("Должен проверять бланки и пропускать некорректные строки")
+    void shouldGradeAnswerSheets() throws IOException {
+        // Given
+        Path answerSheetFile = writeAnswerSheets(HEADER,
+                "Ivan Ivanov;1;1", "Ivan Ivanov;2;2", "Ivan Ivanov;3;2",
+                "Petr Petrov;1;2", "Petr Petrov;2;2", "Petr Petrov;4;1", "Petr Petrov;3;9",
+                "broken line",
+                "Anna Smirnova;1;1", "Anna Smirnova;2;2", "Anna Smirnova;3;1");
+        Map<String, TestResult> results = new ConcurrentHashMap<>();
+
+        // When
+        BatchGradingReport report = batchGradingService.grade(answerSheetFile, testResults -> testResults
+                .forEach(testResult -> results.put(testResult.getStudent().getFullName(), testResult)));
+
+        // Then
+        assertThat(report.sheetsCount()).isEqualTo(3);
+        assertThat(report.passedCount()).isEqualTo(2);
+        assertThat(report.answersCount()).isEqualTo(8);
+        assertThat(report.rightAnswersCount()).isEqualTo(6);
+        assertThat(report.invalidAnswersCount()).isEqualTo(3);
+        assertThat(results.get("Ivan Ivanov").getRightAnswersCount()).isEqualTo(2);
+        assertThat(results.get("Petr Petrov").isPassed()).isFalse();
+        assertThat(results.get("Anna Smirnova").getQuestionIndex(2)).isEqualTo(2);
+        assertThat(results.get("Anna Smirnova").getQuestionFileName(2)).isEqualTo("questions.csv");
+    }
+
+    @Test
+    @DisplayName("Не должен снижать проходной балл, если студент ответил не на все вопросы")
+    void shouldNotScaleThresholdForPartialSheets() throws IOException {
+        // Given
+        Path answerSheetFile = writeAnswerSheets(HEADER, "Ivan Ivanov;2;2");
+        List<TestResult> results = new ArrayList<>();
+
+        // When
+        batchGradingService.grade(answerSheetFile, results::addAll);
+
+        // Then
+        assertThat(results).singleElement().satisfies(testResult -> {
+            assertThat(testResult.getRightAnswersCountToPass()).isEqualTo(2);
+            assertThat(testResult.isPassed()).isFalse();
+        });
+    }
+
+    @Test
+    @DisplayName("Должен масштабировать проходной балл по размеру экзамена")
+    void shouldScaleThresholdByExamQuestionCount() throws IOException {
+        // Given
+        given(testConfig.getExamQuestionCount()).willReturn(1);
+        Path answerSheetFile = writeAnswerSheets(HEADER, "Ivan Ivanov;2;2");
+        List<TestResult> results = new ArrayList<>();
+
+        // When
+        batchGradingService.grade(answerSheetFile, results::addAll);
+
+        // Then
+        assertThat(results).singleElement().satisfies(testResult -> {
+            assertThat(testResult.getRightAnswersCountToPass()).isEqualTo(1);
+            assertThat(testResult.isPassed()).isTrue();
+        });
+    }
+
+    @Test
+    @DisplayName("Должен засчитывать только первый ответ на повторяющийся вопрос")
+    void shouldRejectRepeatedQuestions() throws IOException {
+        // Given
+        Path answerSheetFile = writeAnswerSheets(HEADER, "Ivan Ivanov;1;1", "Ivan Ivanov;1;1", "Ivan Ivanov;2;1");
+        List<TestResult> results = new ArrayList<>();
+
+        // When
+        BatchGradingReport report = batchGradingService.grade(answerSheetFile, results::addAll);
+
+        // Then
+        assertThat(report.answersCount()).isEqualTo(2);
+        assertThat(report.rightAnswersCount()).isEqualTo(1);
+        assertThat(report.invalidAnswersCount()).isEqualTo(1);
+        assertThat(results).singleElement().satisfies(testResult -> assertThat(testResult.isPassed()).isFalse());
+    }
+
+    @Test
+    @DisplayName("Должен отдавать результаты кусками в порядке файла в вызывающем потоке")
+    void shouldDeliverResultsInFileOrderOnCallerThread() throws IOException {
+        // Given
+        int studentsCount = 10_000;
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (int i = 0; i < studentsCount; i++) {
+            lines.add("Student " + i + ";1;1");
+        }
+        Path answerSheetFile = writeAnswerSheets(lines.toArray(String[]::new));
+        List<TestResult> results = new ArrayList<>();
+        List<Thread> consumerThreads = new ArrayList<>();
+
+        // When
+        batchGradingService.grade(answerSheetFile, testResults -> {
+            consumerThreads.add(Thread.currentThread());
+            results.addAll(testResults);
+        });
+
+        // Then
+        assertThat(consumerThreads).hasSizeGreaterThan(1).containsOnly(Thread.currentThread());
+        assertThat(results).extracting(testResult -> testResult.getStudent().lastName())
+                .containsExactlyElementsOf(IntStream.range(0, studentsCount).mapToObj(String::valueOf).toList());
+    }
+
+    @Test
+    @DisplayName("Должен проверять все бланки, если их больше одного куска")
+    void shouldGradeSheetsAcrossChunks() throws IOException {
+        // Given
+        int studentsCount = 10_000;
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (int i = 0; i < studentsCount; i++) {
+            lines.add("Student " + i + ";1;1");
+            lines.add("Student " + i + ";2;" + (i % 2 == 0 ? 2 : 1));
+        }
+        Path answerSheetFile = writeAnswerSheets(lines.toArray(String[]::new));
+        Map<String, TestResult> results = new ConcurrentHashMap<>();
+
+        // When
+        BatchGradingReport report = batchGradingService.grade(answerSheetFile, testResults -> testResults
+                .forEach(testResult -> results.put(testResult.getStudent().getFullName(), testResult)));
+
+        // Then
+        assertThat(report.sheetsCount()).isEqualTo(studentsCount);
+        assertThat(report.passedCount()).isEqualTo(studentsCount / 2);
+        assertThat(results).hasSize(studentsCount);
+        assertThat(results.values().stream()
+                .collect(Collectors.groupingBy(TestResult::getRightAnswersCount, Collectors.counting())))
+                .containsExactlyInAnyOrderEntriesOf(Map.of(1, (long) studentsCount / 2, 2, (long) studentsCount / 2));
+    }
+
+    @Test
+    @DisplayName("Должен принимать несколько номеров ответов через запятую")
+    void shouldGradeMultipleChoiceAnswers() throws IOException {
+        // Given
+        given(questionDao.findAll()).willReturn(List.of(new Question("Question",
+                List.of(new Answer("Right", true), new Answer("Wrong", false), new Answer("Right", true)))));
+        Path answerSheetFile = writeAnswerSheets(HEADER,
+                "Ivan Ivanov;1;1,3", "Petr Petrov;1;1", "Anna Smirnova;1;1,4");
+        Map<String, TestResult> results = new ConcurrentHashMap<>();
+
+        // When
+        BatchGradingReport report = batchGradingService.grade(answerSheetFile, testResults -> testResults
+                .forEach(testResult -> results.put(testResult.getStudent().getFullName(), testResult)));
+
+        // Then
+        assertThat(report.sheetsCount()).isEqualTo(3);
+        assertThat(report.rightAnswersCount()).isEqualTo(1);
+        assertThat(report.invalidAnswersCount()).isEqualTo(1);
+        assertThat(results.get("Ivan Ivanov").getRightAnswersCount()).isEqualTo(1);
+        assertThat(results.get("Petr Petrov").getScore()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Должен бросать исключение, если файл не найден")
+    void shouldThrowExceptionWhenFileNotFound() {
+        // Given
+        Path missingFile = tempDirectory.resolve("missing.csv");
+
+        // When & Then
+        assertThatThrownBy(() -> batchGradingService.grade(missingFile, testResults -> { }))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private Path writeAnswerSheets(String... lines) throws IOException {
+        return Files.write(tempDirectory.resolve("answers.csv"), List.of(lines), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,150 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Сервис ввода-вывода через NIO-каналы")
+class ChannelIOServiceTest {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    @DisplayName("Должен копить вывод до запроса ответа")
+    void shouldBufferOutputUntilPrompt() {
+        // Given
+        var ioService = createService("Ivan\n");
+
+        // When
+        ioService.printLine("Question");
+        ioService.printFormattedLine("%d) %s", 1, "Answer");
+        String bufferedOutput = output.toString(StandardCharsets.UTF_8);
+        String answer = ioService.readStringWithPrompt("Name?");
+
+        // Then
+        assertThat(bufferedOutput).isEmpty();
+        assertThat(answer).isEqualTo("Ivan");
+        assertThat(output.toString(StandardCharsets.UTF_8))
+                .isEqualTo("Question" + LINE_SEPARATOR + "1) Answer" + LINE_SEPARATOR + "Name?" + LINE_SEPARATOR);
+    }
+
+    @Test
+    @DisplayName("Должен собирать строки из байтов, приходящих по одному")
+    void shouldDecodeLinesFromPartialReads() {
+        // Given
+        byte[] input = "Иван\r\nПетров\n3".getBytes(StandardCharsets.UTF_8);
+        var ioService = new ChannelIOService(Channels.newChannel(output), new OneByteChannel(input),
+                StandardCharsets.UTF_8);
+
+        // When & Then
+        assertThat(ioService.readString()).isEqualTo("Иван");
+        assertThat(ioService.readString()).isEqualTo("Петров");
+        assertThat(ioService.readIntForRange(1, 4, "error")).isEqualTo(3);
+        assertThatThrownBy(ioService::readString).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("Должен повторять запрос числа при неверном вводе")
+    void shouldRepeatInvalidIntInput() {
+        // Given
+        var ioService = createService("abc\n7\n2\n");
+
+        // When
+        int answer = ioService.readIntForRangeWithPrompt(1, 4, "Answer?", "Invalid");
+
+        // Then
+        assertThat(answer).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8))
+                .isEqualTo("Answer?" + LINE_SEPARATOR + "Invalid" + LINE_SEPARATOR + "Invalid" + LINE_SEPARATOR);
+    }
+
+    @Test
+    @DisplayName("Должен читать несколько номеров ответов и повторять запрос при неверном вводе")
+    void shouldReadSelectionAndRepeatInvalidInput() {
+        // Given
+        var ioService = createService("1,5\n2, 4\n");
+
+        // When
+        long selection = ioService.readSelectionForRange(1, 4, "Invalid");
+
+        // Then
+        assertThat(selection).isEqualTo(0b1010);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("Invalid" + LINE_SEPARATOR);
+    }
+
+    @Test
+    @DisplayName("Должен отправлять запрос до каждого чтения ввода")
+    void shouldFlushPromptBeforeEveryRead() {
+        // Given
+        List<String> outputBeforeReads = new ArrayList<>();
+        ReadableByteChannel input = new OneByteChannel("x\n2\n1,3\n".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public int read(ByteBuffer dst) {
+                outputBeforeReads.add(output.toString(StandardCharsets.UTF_8));
+                return super.read(dst);
+            }
+        };
+        var ioService = new ChannelIOService(Channels.newChannel(output), input, StandardCharsets.UTF_8);
+
+        // When
+        int answer = ioService.readIntForRangeWithPrompt(1, 4, "Answer?", "Invalid");
+        ioService.printLine("Answers?");
+        long selection = ioService.readSelectionForRange(1, 4, "Invalid");
+
+        // Then
+        assertThat(answer).isEqualTo(2);
+        assertThat(selection).isEqualTo(0b101);
+        assertThat(outputBeforeReads.get(0)).isEqualTo("Answer?" + LINE_SEPARATOR);
+        assertThat(outputBeforeReads.get(2)).isEqualTo("Answer?" + LINE_SEPARATOR + "Invalid" + LINE_SEPARATOR);
+        assertThat(outputBeforeReads.get(4))
+                .isEqualTo("Answer?" + LINE_SEPARATOR + "Invalid" + LINE_SEPARATOR + "Answers?" + LINE_SEPARATOR);
+    }
+
+    private ChannelIOService createService(String input) {
+        return new ChannelIOService(output, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Канал, отдающий данные по одному байту, как медленный сокет
+    private static class OneByteChannel implements ReadableByteChannel {
+
+        private final byte[] data;
+
+        private int position;
+
+        OneByteChannel(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (position == data.length) {
+                return -1;
+            }
+            dst.put(data[position++]);
+            return 1;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.MessageSource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.TestFileNameByLocaleProvider;
+import ru.otus.hw.service.messages.MessageTemplateRegistry;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = {LocalizedMessagesServiceImpl.class, MessageTemplateRegistry.class})
+@DisplayName("Сервис локализованных сообщений на скомпилированных шаблонах")
+class LocalizedMessagesServiceImplTest {
+
+    private static final Locale EN_US = Locale.forLanguageTag("en-US");
+
+    private static final Locale RU_RU = Locale.forLanguageTag("ru-RU");
+
+    @MockitoBean
+    private LocaleConfig localeConfig;
+
+    @MockitoBean(name = "messageSource")
+    private MessageSource messageSource;
+
+    @MockitoBean
+    private TestFileNameByLocaleProvider fileNameByLocaleProvider;
+
+    @Autowired
+    private LocalizedMessagesServiceImpl messagesService;
+
+    @Test
+    @DisplayName("Должен форматировать сообщение по шаблону текущей локали без MessageSource")
+    void shouldFormatMessageFromTemplate() {
+        // Given
+        given(localeConfig.getLocale()).willReturn(EN_US);
+
+        // When
+        String message = messagesService.getMessage("TestService.question.answer.prompt", 3);
+
+        // Then
+        assertThat(message).isEqualTo("Enter the answer for question #3");
+        verify(messageSource, never()).getMessage(any(), any(), any(Locale.class));
+    }
+
+    @Test
+    @DisplayName("Должен переключать шаблоны при смене локали")
+    void shouldSwitchTemplatesWhenLocaleChanges() {
+        // Given
+        given(localeConfig.getLocale()).willReturn(EN_US);
+        String englishMessage = messagesService.getMessage("ResultService.student", "Ivan Ivanov");
+
+        // When
+        given(localeConfig.getLocale()).willReturn(RU_RU);
+        String russianMessage = messagesService.getMessage("ResultService.student", "Ivan Ivanov");
+
+        // Then
+        assertThat(englishMessage).isEqualTo("Student: Ivan Ivanov");
+        assertThat(russianMessage).isEqualTo("Студент: Ivan Ivanov");
+    }
+
+    @Test
+    @DisplayName("Должен обращаться к MessageSource для сообщений, которых нет в шаблонах")
+    void shouldDelegateUnknownCodeToMessageSource() {
+        // Given
+        given(localeConfig.getLocale()).willReturn(EN_US);
+        given(messageSource.getMessage(eq("unknown.code"), any(), eq(EN_US))).willReturn("Unknown");
+
+        // When
+        String message = messagesService.getMessage("unknown.code");
+
+        // Then
+        assertThat(message).isEqualTo("Unknown");
+    }
+}
@@ -3,27 +3,40 @@ package ru.otus.hw.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
 import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.dao.results.QuestionStatistics;
+import ru.otus.hw.dao.results.ResultJournal;
 import ru.otus.hw.domain.Answer;
 import ru.otus.hw.domain.Question;
 import ru.otus.hw.domain.Student;
 import ru.otus.hw.domain.TestResult;
 import ru.otus.hw.exceptions.QuestionReadException;
 import ru.otus.hw.service.converters.QuestionConverter;
+import ru.otus.hw.service.sampling.AdaptiveQuestionSampler;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -41,9 +54,21 @@ class TestServiceImplTest {
     @MockitoBean
     private QuestionConverter questionConverter;
 
+    @MockitoBean
+    private TestConfig testConfig;
+
+    @MockitoBean
+    private TestFileNameProvider testFileNameProvider;
+
+    @MockitoBean
+    private AdaptiveQuestionSampler questionSampler;
+
     @Autowired
     private TestServiceImpl testService;
 
+    @TempDir
+    Path journalDirectory;
+
     private Student student;
 
     private List<Question> testQuestions;
@@ -59,15 +84,19 @@ class TestServiceImplTest {
                 new Question("Question 1", List.of(wrongAnswer, correctAnswer, wrongAnswer, wrongAnswer)),
                 new Question("Question 2", List.of(wrongAnswer, wrongAnswer, correctAnswer))
         );
+        given(testFileNameProvider.getTestFileName()).willReturn("questions.csv");
+        given(testFileNameProvider.getTopicFileName(anyString()))
+                .willAnswer(invocation -> "questions-" + invocation.getArgument(0) + ".csv");
     }
 
     @Test
     @DisplayName("Должен вернуть результат выполнения теста с корректным количеством правильных ответов")
     void ShouldReturnTestResultWithCorrectAnswers() {
-        String formattedSomeTestQuestion = "Formatted some test question";
+        EncodedLine formattedSomeTestQuestion = EncodedLine.encode("Formatted some test question", UTF_8);
 
         given(questionDao.findAll()).willReturn(testQuestions);
-        given(questionConverter.convertQuestionToString(any(Question.class), anyInt())).willReturn(formattedSomeTestQuestion);
+        given(questionConverter.convertQuestionToEncodedLine(any(Question.class), anyInt(), any()))
+                .willReturn(formattedSomeTestQuestion);
         given(ioService.readIntForRangeLocalized(anyInt(), anyInt(), anyString()))
                 .willReturn(2)
                 .willReturn(3);
@@ -83,7 +112,7 @@ class TestServiceImplTest {
         //verify
         verify(questionDao, times(1)).findAll();
         verify(ioService, times(1)).printLineLocalized("TestService.answer.the.questions");
-        verify(questionConverter, times(2)).convertQuestionToString(any(Question.class), anyInt());
+        verify(questionConverter, times(2)).convertQuestionToEncodedLine(any(Question.class), anyInt(), any());
         verify(ioService, times(2)).printFormattedLineLocalized(eq("TestService.question.answer.prompt"), anyInt());
         verify(ioService, times(2)).readIntForRangeLocalized(anyInt(), anyInt(), eq("TestService.invalid.answer.message"));
         verify(ioService, times(2)).printLine(formattedSomeTestQuestion);
@@ -94,11 +123,12 @@ class TestServiceImplTest {
     @Test
     @DisplayName("Должен выкинуть сообщение об ошибке и вернуть результат выполнения теста с нулевым количеством правильных ответов, когда неправильно выбирает номер ответа много раз подряд")
     void ShouldThrowExceptionWhenSelectWrongAnswersTooMuch() {
-        String formattedSomeTestQuestion = "Formatted some test question";
+        EncodedLine formattedSomeTestQuestion = EncodedLine.encode("Formatted some test question", UTF_8);
         String errorMessage = "Error during reading int value";
 
         given(questionDao.findAll()).willReturn(testQuestions);
-        given(questionConverter.convertQuestionToString(any(Question.class), anyInt())).willReturn(formattedSomeTestQuestion);
+        given(questionConverter.convertQuestionToEncodedLine(any(Question.class), anyInt(), any()))
+                .willReturn(formattedSomeTestQuestion);
         given(ioService.readIntForRangeLocalized(anyInt(), anyInt(), anyString()))
                 .willReturn(1)
                 .willThrow(new IllegalArgumentException(errorMessage));
@@ -125,10 +155,11 @@ class TestServiceImplTest {
     @Test
     @DisplayName("Должен вернуть результат выполнения теста с нулевым количеством правильных ответов")
     void ShouldReturnTestResultWithZeroAnswers() {
-        String formattedSomeTestQuestion = "Formatted some test question";
+        EncodedLine formattedSomeTestQuestion = EncodedLine.encode("Formatted some test question", UTF_8);
 
         given(questionDao.findAll()).willReturn(testQuestions);
-        given(questionConverter.convertQuestionToString(any(Question.class), anyInt())).willReturn(formattedSomeTestQuestion);
+        given(questionConverter.convertQuestionToEncodedLine(any(Question.class), anyInt(), any()))
+                .willReturn(formattedSomeTestQuestion);
         given(ioService.readIntForRangeLocalized(anyInt(), anyInt(), anyString()))
                 .willReturn(1)
                 .willReturn(2);
@@ -143,7 +174,7 @@ class TestServiceImplTest {
 
         //verify
         verify(questionDao, times(1)).findAll();
-        verify(questionConverter, times(2)).convertQuestionToString(any(Question.class), anyInt());
+        verify(questionConverter, times(2)).convertQuestionToEncodedLine(any(Question.class), anyInt(), any());
         verify(ioService, times(2)).printFormattedLineLocalized(eq("TestService.question.answer.prompt"), anyInt());
         verify(ioService, times(2)).readIntForRangeLocalized(anyInt(), anyInt(), eq("TestService.invalid.answer.message"));
         verify(ioService, times(2)).printLine(formattedSomeTestQuestion);
@@ -175,4 +206,137 @@ class TestServiceImplTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Должен задавать выбранные по сложности вопросы и масштабировать порог сдачи")
+    void shouldAskSampledQuestionsAndScalePassThreshold() {
+        EncodedLine formattedSomeTestQuestion = EncodedLine.encode("Formatted some test question", UTF_8);
+
+        given(questionDao.findAll()).willReturn(testQuestions);
+        given(testConfig.getExamQuestionCount()).willReturn(1);
+        given(testConfig.getRightAnswersCountToPass()).willReturn(2);
+        given(questionSampler.sample(eq("questions.csv"), eq(2), eq(1), any())).willReturn(new int[]{1});
+        given(questionConverter.convertQuestionToEncodedLine(any(Question.class), anyInt(), any()))
+                .willReturn(formattedSomeTestQuestion);
+        given(ioService.readIntForRangeLocalized(anyInt(), anyInt(), anyString())).willReturn(3);
+
+        //Action
+        TestResult result = testService.executeTestFor(student);
+
+        //Assertions
+        assertThat(result.getAnsweredQuestions()).containsExactly(testQuestions.get(1));
+        assertThat(result.getQuestionIndex(0)).isEqualTo(1);
+        assertThat(result.getQuestionFileName(0)).isEqualTo("questions.csv");
+        assertThat(result.getRightAnswersCountToPass()).isEqualTo(1);
+        assertThat(result.isPassed()).isTrue();
+
+        //verify
+        verify(questionConverter, times(1)).convertQuestionToEncodedLine(eq(testQuestions.get(1)), eq(1), any());
+        verify(questionSampler, times(1)).recordAnswer("questions.csv", 1, true);
+    }
+
+    @Test
+    @DisplayName("Должен загружать только темы экзамена и задавать из них заданное число вопросов")
+    void shouldAskQuestionsOnlyFromSelectedTopics() {
+        EncodedLine formattedSomeTestQuestion = EncodedLine.encode("Formatted some test question", UTF_8);
+        Map<String, Integer> questionCountByTopic = new LinkedHashMap<>();
+        questionCountByTopic.put("java", 0);
+        questionCountByTopic.put("spring", 1);
+        List<Question> javaQuestions = List.of(testQuestions.get(0));
+
+        given(testConfig.getQuestionCountByTopic()).willReturn(questionCountByTopic);
+        given(testConfig.getRightAnswersCountToPass()).willReturn(2);
+        given(questionDao.findAllByTopic("java")).willReturn(javaQuestions);
+        given(questionDao.findAllByTopic("spring")).willReturn(testQuestions);
+        // Вопросы темы spring нумеруются в ее собственном файле
+        given(questionSampler.sample(eq("questions-spring.csv"), eq(2), eq(1), any())).willReturn(new int[]{1});
+        given(questionConverter.convertQuestionToEncodedLine(any(Question.class), anyInt(), any()))
+                .willReturn(formattedSomeTestQuestion);
+        given(ioService.readIntForRangeLocalized(anyInt(), anyInt(), anyString()))
+                .willReturn(2)
+                .willReturn(1);
+
+        //Action
+        TestResult result = testService.executeTestFor(student);
+
+        //Assertions
+        assertThat(result.getAnsweredQuestions()).containsExactly(testQuestions.get(0), testQuestions.get(1));
+        assertThat(result.getQuestionIndex(0)).isEqualTo(0);
+        assertThat(result.getQuestionFileName(0)).isEqualTo("questions-java.csv");
+        assertThat(result.getQuestionIndex(1)).isEqualTo(1);
+        assertThat(result.getQuestionFileName(1)).isEqualTo("questions-spring.csv");
+        assertThat(result.getRightAnswersCount()).isEqualTo(1);
+        assertThat(result.getRightAnswersCountToPass()).isEqualTo(2);
+
+        //verify
+        verify(questionDao, never()).findAll();
+        verify(questionConverter, times(1)).convertQuestionToEncodedLine(eq(testQuestions.get(1)), eq(2), any());
+        verify(questionSampler, times(1)).recordAnswer("questions-java.csv", 0, true);
+        verify(questionSampler, times(1)).recordAnswer("questions-spring.csv", 1, false);
+    }
+
+    @Test
+    @DisplayName("Должен вести статистику экзаменов по темам и по всему банку раздельно")
+    void shouldKeepTopicAndWholeBankStatisticsApart() throws IOException {
+        EncodedLine formattedSomeTestQuestion = EncodedLine.encode("Formatted some test question", UTF_8);
+        var resultJournal = new ResultJournal(() -> journalDirectory.resolve("results.journal").toString());
+
+        given(questionDao.findAll()).willReturn(testQuestions);
+        given(questionDao.findAllByTopic("spring")).willReturn(List.of(testQuestions.get(1)));
+        given(questionConverter.convertQuestionToEncodedLine(any(Question.class), anyInt(), any()))
+                .willReturn(formattedSomeTestQuestion);
+        // Весь банк: оба ответа правильные; тема: первый вопрос темы - это Question 2, ответ неправильный
+        given(ioService.readIntForRangeLocalized(anyInt(), anyInt(), anyString()))
+                .willReturn(2)
+                .willReturn(3)
+                .willReturn(1);
+
+        //Action
+        try {
+            resultJournal.append(testService.executeTestFor(student), true);
+            given(testConfig.getQuestionCountByTopic()).willReturn(Map.of("spring", 0));
+            resultJournal.append(testService.executeTestFor(student), false);
+
+            //Assertions
+            assertThat(resultJournal.getStatistics(10).hardestQuestions()).containsExactly(
+                    new QuestionStatistics("questions-spring.csv", 0, 0, 1),
+                    new QuestionStatistics("questions.csv", 0, 1, 0),
+                    new QuestionStatistics("questions.csv", 1, 1, 0));
+            assertThat(resultJournal.getAnsweredQuestionStatistics("questions.csv"))
+                    .extracting(QuestionStatistics::questionIndex)
+                    .containsExactly(0, 1);
+        } finally {
+            resultJournal.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Должен засчитывать вопрос с несколькими ответами только при точном выборе и учитывать частичный балл")
+    void shouldScoreMultipleChoiceQuestions() {
+        EncodedLine formattedSomeTestQuestion = EncodedLine.encode("Formatted some test question", UTF_8);
+        Answer correctAnswer = new Answer("Correct answer", true);
+        Answer wrongAnswer = new Answer("Wrong answer", false);
+        Question multipleChoiceQuestion = new Question("Question 3",
+                List.of(correctAnswer, wrongAnswer, correctAnswer, wrongAnswer));
+
+        given(questionDao.findAll()).willReturn(List.of(multipleChoiceQuestion, multipleChoiceQuestion));
+        given(questionConverter.convertQuestionToEncodedLine(any(Question.class), anyInt(), any()))
+                .willReturn(formattedSomeTestQuestion);
+        given(ioService.readSelectionForRangeLocalized(anyInt(), anyInt(), anyString()))
+                .willReturn(0b0101L)
+                .willReturn(0b0001L);
+
+        //Action
+        TestResult result = testService.executeTestFor(student);
+
+        //Assertions
+        assertThat(result.getRightAnswersCount()).isEqualTo(1);
+        assertThat(result.isRightAnswer(0)).isTrue();
+        assertThat(result.isRightAnswer(1)).isFalse();
+        assertThat(result.getScore()).isEqualTo(1.5);
+
+        //verify
+        verify(ioService, times(2)).printFormattedLineLocalized(eq("TestService.question.answers.prompt"), anyInt());
+        verify(ioService, times(2)).readSelectionForRangeLocalized(1, 4, "TestService.invalid.answers.message");
+        verify(ioService, never()).readIntForRangeLocalized(anyInt(), anyInt(), anyString());
+    }
+}
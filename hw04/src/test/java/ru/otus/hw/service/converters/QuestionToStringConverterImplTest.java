@@ -4,9 +4,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.otus.hw.dao.QuestionEvictionListener;
 import ru.otus.hw.domain.Answer;
 import ru.otus.hw.domain.Question;
+import ru.otus.hw.service.EncodedLine;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,6 +22,9 @@ class QuestionToStringConverterImplTest {
     @Autowired
     private QuestionConverter converter ;
 
+    @Autowired
+    private QuestionEvictionListener evictionListener;
+
     @Test
     @DisplayName("Должен корректно форматировать вопрос с ответами")
     void ShouldFormatCorrectly() {
@@ -58,4 +64,54 @@ class QuestionToStringConverterImplTest {
         String expected = "42. Is this a test?";
         assertThat(result).isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Должен отдавать закэшированный вопрос, закодированный в нужной кодировке")
+    void shouldCacheEncodedQuestion() {
+        // Given
+        Question question = new Question("Столица Франции?", List.of(new Answer("Париж", true)));
+
+        // When
+        EncodedLine first = converter.convertQuestionToEncodedLine(question, 1, StandardCharsets.UTF_8);
+        EncodedLine second = converter.convertQuestionToEncodedLine(question, 1, StandardCharsets.UTF_8);
+        EncodedLine otherNumber = converter.convertQuestionToEncodedLine(question, 2, StandardCharsets.UTF_8);
+
+        // Then
+        String expectedText = converter.convertQuestionToString(question, 1);
+        assertThat(first).isSameAs(second).isNotSameAs(otherNumber);
+        assertThat(first.text()).isEqualTo(expectedText);
+        assertThat(first.bytes())
+                .isEqualTo((expectedText + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Должен попадать в кэш для нового экземпляра вопроса с тем же содержимым")
+    void shouldHitCacheForEqualQuestionInstance() {
+        // Given
+        EncodedLine cached = converter.convertQuestionToEncodedLine(
+                new Question("Столица Италии?", List.of(new Answer("Рим", true))), 3, StandardCharsets.UTF_8);
+
+        // When
+        EncodedLine rendered = converter.convertQuestionToEncodedLine(
+                new Question("Столица Италии?", List.of(new Answer("Рим", true))), 3, StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(rendered).isSameAs(cached);
+    }
+
+    @Test
+    @DisplayName("Должен сбрасывать отрисованные вопросы вместе с банком вопросов")
+    void shouldInvalidateCacheWhenQuestionsEvicted() {
+        // Given
+        Question question = new Question("Is this a test?", List.of(new Answer("Yes", true)));
+        EncodedLine cached = converter.convertQuestionToEncodedLine(question, 1, StandardCharsets.UTF_8);
+
+        // When
+        evictionListener.onQuestionsEvicted("questions.csv");
+
+        // Then
+        EncodedLine rendered = converter.convertQuestionToEncodedLine(question, 1, StandardCharsets.UTF_8);
+        assertThat(rendered).isNotSameAs(cached);
+        assertThat(rendered.text()).isEqualTo(cached.text());
+    }
+}
@@ -0,0 +1,127 @@
+package ru.otus.hw.service.sampling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.dao.results.QuestionStatistics;
+import ru.otus.hw.dao.results.ResultJournal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest(classes = {AdaptiveQuestionSampler.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Выбор вопросов экзамена по сложности")
+class AdaptiveQuestionSamplerTest {
+
+    private static final String QUESTION_FILE_NAME = "questions.csv";
+
+    @MockitoBean
+    private ResultJournal resultJournal;
+
+    @Autowired
+    private AdaptiveQuestionSampler questionSampler;
+
+    @Test
+    @DisplayName("Должен выбирать заданное число разных вопросов из банка")
+    void shouldSampleDistinctQuestions() {
+        // Given
+        given(resultJournal.getAnsweredQuestionStatistics(QUESTION_FILE_NAME)).willReturn(List.of());
+
+        // When
+        int[] questionIndexes = questionSampler.sample(QUESTION_FILE_NAME, 1_000_000, 50, new Random(1));
+
+        // Then
+        assertThat(questionIndexes).hasSize(50).doesNotHaveDuplicates();
+        assertThat(Arrays.stream(questionIndexes)).allMatch(index -> index >= 0 && index < 1_000_000);
+    }
+
+    @Test
+    @DisplayName("Должен вести веса вопросов раздельно для каждого файла с вопросами")
+    void shouldKeepWeightsPerQuestionFile() {
+        // Given
+        given(resultJournal.getAnsweredQuestionStatistics(QUESTION_FILE_NAME)).willReturn(List.of(
+                new QuestionStatistics(QUESTION_FILE_NAME, 0, 0, 100)));
+        given(resultJournal.getAnsweredQuestionStatistics("questions-spring.csv")).willReturn(List.of());
+
+        // When
+        questionSampler.recordAnswer("questions-spring.csv", 1, true);
+
+        // Then
+        assertThat(questionSampler.getWeight(QUESTION_FILE_NAME, 0)).isEqualTo(101.0 / 102);
+        assertThat(questionSampler.getWeight("questions-spring.csv", 0)).isEqualTo(0.5);
+        assertThat(questionSampler.getWeight(QUESTION_FILE_NAME, 1)).isEqualTo(0.5);
+        assertThat(questionSampler.getWeight("questions-spring.csv", 1)).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    @DisplayName("Должен чаще выбирать вопросы, на которые чаще отвечали неправильно")
+    void shouldPreferHardQuestions() {
+        // Given
+        given(resultJournal.getAnsweredQuestionStatistics(QUESTION_FILE_NAME)).willReturn(List.of(
+                new QuestionStatistics(QUESTION_FILE_NAME, 0, 0, 100),
+                new QuestionStatistics(QUESTION_FILE_NAME, 1, 100, 0),
+                new QuestionStatistics(QUESTION_FILE_NAME, 2, 100, 0)));
+        var random = new Random(1);
+
+        // When
+        int hardQuestionCount = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (questionSampler.sample(QUESTION_FILE_NAME, 3, 1, random)[0] == 0) {
+                hardQuestionCount++;
+            }
+        }
+
+        // Then
+        assertThat(hardQuestionCount).isGreaterThan(900);
+    }
+
+    @Test
+    @DisplayName("Должен пересчитывать вес вопроса после ответа")
+    void shouldUpdateWeightOnAnswer() {
+        // Given
+        given(resultJournal.getAnsweredQuestionStatistics(QUESTION_FILE_NAME)).willReturn(List.of());
+        double initialWeight = questionSampler.getWeight(QUESTION_FILE_NAME, 5);
+
+        // When
+        questionSampler.recordAnswer(QUESTION_FILE_NAME, 5, true);
+
+        // Then
+        assertThat(initialWeight).isEqualTo(0.5);
+        assertThat(questionSampler.getWeight(QUESTION_FILE_NAME, 5)).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    @DisplayName("Должен учитывать все ответы, записанные параллельно с выбором вопросов")
+    void shouldNotLoseAnswersRecordedDuringSampling() {
+        // Given
+        given(resultJournal.getAnsweredQuestionStatistics(QUESTION_FILE_NAME)).willReturn(List.of());
+        int threadsCount = 8;
+        int answersPerThread = 1000;
+
+        // When
+        CompletableFuture.allOf(IntStream.range(0, threadsCount)
+                .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+                    var random = new Random(thread);
+                    for (int i = 0; i < answersPerThread; i++) {
+                        questionSampler.recordAnswer(QUESTION_FILE_NAME, 0, false);
+                        questionSampler.sample(QUESTION_FILE_NAME, 100, 10, random);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new)).join();
+
+        // Then
+        int wrongAnswersCount = threadsCount * answersPerThread;
+        assertThat(questionSampler.getWeight(QUESTION_FILE_NAME, 0))
+                .isEqualTo((wrongAnswersCount + 1.0) / (wrongAnswersCount + 2.0));
+    }
+}
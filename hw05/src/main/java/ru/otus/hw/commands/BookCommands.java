@@ -1,13 +1,19 @@
 package ru.otus.hw.commands;
 
 import lombok.RequiredArgsConstructor;
+import org.jline.terminal.Terminal;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 import ru.otus.hw.converters.BookConverter;
+import ru.otus.hw.services.BookImportResult;
+import ru.otus.hw.services.BookImportService;
 import ru.otus.hw.services.BookService;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @SuppressWarnings({"SpellCheckingInspection", "unused"})
@@ -15,15 +21,34 @@ import java.util.stream.Collectors;
 @ShellComponent
 public class BookCommands {
 
+    private static final int DEFAULT_PAGE_LIMIT = 20;
+
+    // Команда и опции постраничного вывода: подсказка о следующей странице собирается из них же
+    private static final String FIND_ALL_BOOKS_KEY = "ab";
+
+    private static final String AFTER_OPTION = "after";
+
+    private static final String LIMIT_OPTION = "limit";
+
     private final BookService bookService;
 
+    private final BookImportService bookImportService;
+
     private final BookConverter bookConverter;
 
-    @ShellMethod(value = "Find all books", key = "ab")
-    public String findAllBooks() {
-        return bookService.findAll().stream()
-                .map(bookConverter::bookToString)
-                .collect(Collectors.joining("," + System.lineSeparator()));
+    private final Terminal terminal;
+
+    // ab - все книги, печатаются по мере чтения из БД, а не после загрузки всего списка;
+    // ab --after 100 --limit 20 - страница из 20 книг с id больше 100
+    @ShellMethod(value = "Find all books", key = FIND_ALL_BOOKS_KEY)
+    public void findAllBooks(@ShellOption(value = AFTER_OPTION, defaultValue = "0") long afterId,
+                             @ShellOption(value = LIMIT_OPTION, defaultValue = "0") int limit) {
+        if (afterId == 0 && limit == 0) {
+            printAllBooks();
+        } else {
+            printBooksPage(afterId, limit > 0 ? limit : DEFAULT_PAGE_LIMIT);
+        }
+        terminal.writer().flush();
     }
 
     // bbid 1
@@ -34,6 +59,31 @@ public class BookCommands {
                 .orElse("Book with id %d not found".formatted(id));
     }
 
+    // bbids 1,2,3
+    @ShellMethod(value = "Find books by ids", key = "bbids")
+    public String findBooksByIds(@ShellOption(value = "ids") Set<Long> ids) {
+        var books = bookService.findAllByIds(ids);
+        if (books.isEmpty()) {
+            return "Books with ids %s not found".formatted(ids);
+        }
+        return books.stream()
+                .map(bookConverter::bookToString)
+                .collect(Collectors.joining("," + System.lineSeparator()));
+    }
+
+    // bsearch title - книги, в названии которых есть подстрока title
+    @ShellMethod(value = "Search books by title substring", key = "bsearch")
+    public String searchBooks(@ShellOption(value = "text") String text,
+                              @ShellOption(value = "limit", defaultValue = "20") int limit) {
+        var books = bookService.searchByTitle(text, limit);
+        if (books.isEmpty()) {
+            return "No books with title containing '%s'".formatted(text);
+        }
+        return books.stream()
+                .map(bookConverter::bookToString)
+                .collect(Collectors.joining("," + System.lineSeparator()));
+    }
+
     // bins newBook 1 1,6
     @ShellMethod(value = "Insert book", key = "bins")
     public String insertBook(@ShellOption(value = "title") String title,
@@ -53,9 +103,49 @@ public class BookCommands {
         return bookConverter.bookToString(savedBook);
     }
 
+    // bimport --file books.csv --batch 5000
+    @ShellMethod(value = "Import books from CSV file", key = "bimport")
+    public String importBooks(@ShellOption(value = "file") String file,
+                              @ShellOption(value = "batch", defaultValue = "1000") int batchSize) {
+        var writer = terminal.writer();
+        BookImportResult result;
+        try {
+            result = bookImportService.importBooks(Path.of(file), batchSize, importedCount -> {
+                writer.println("Imported %d books...".formatted(importedCount));
+                writer.flush();
+            });
+        } catch (UncheckedIOException e) {
+            return "Failed to read books from %s: %s".formatted(file, e.getCause().getMessage());
+        }
+        return "Imported %d books, skipped %d lines in %d ms (%d books/sec)".formatted(result.importedCount(),
+                result.skippedCount(), result.wallTimeMillis(), result.booksPerSecond());
+    }
+
     // bdel 4
     @ShellMethod(value = "Delete book by id", key = "bdel")
     public void deleteBook(@ShellOption(value = "id")long id) {
         bookService.deleteById(id);
     }
+
+    private void printAllBooks() {
+        var writer = terminal.writer();
+        var separator = new AtomicReference<>("");
+        bookService.findAll(book -> {
+            writer.print(separator.getAndSet("," + System.lineSeparator()));
+            writer.print(bookConverter.bookToString(book));
+        });
+        writer.println();
+    }
+
+    private void printBooksPage(long afterId, int limit) {
+        var writer = terminal.writer();
+        var books = bookService.findPage(afterId, limit);
+        writer.println(books.stream()
+                .map(bookConverter::bookToString)
+                .collect(Collectors.joining("," + System.lineSeparator())));
+        if (books.size() == limit) {
+            writer.println("Next page: %s --%s %d --%s %d".formatted(FIND_ALL_BOOKS_KEY,
+                    AFTER_OPTION, books.get(limit - 1).getId(), LIMIT_OPTION, limit));
+        }
+    }
 }
@@ -1,15 +1,33 @@
 package ru.otus.hw.commands;
 
+import lombok.RequiredArgsConstructor;
 import org.h2.tools.Console;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.metrics.StatementMetricsRegistry;
+import ru.otus.hw.metrics.StatementStats;
+import ru.otus.hw.repositories.CachingAuthorRepository;
+import ru.otus.hw.repositories.CachingGenreRepository;
+import ru.otus.hw.repositories.cache.CacheStats;
 
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @SuppressWarnings({"unused"})
+@RequiredArgsConstructor
 @ShellComponent()
 public class ConsoleCommands {
 
+    private final CachingAuthorRepository authorRepository;
+
+    private final CachingGenreRepository genreRepository;
+
+    private final StatementMetricsRegistry statementMetricsRegistry;
+
     // sh2c
     @ShellMethod(value = "Start h2 console", key = "sh2c")
     public void startH2Console() {
@@ -19,4 +37,61 @@ public class ConsoleCommands {
             throw new IllegalArgumentException(e);
         }
     }
+
+    // stats, stats --reset - показать и обнулить
+    @ShellMethod(value = "Show SQL statements latency and row counts", key = "stats")
+    public String showStatementStats(@ShellOption(value = "reset", defaultValue = "false") boolean reset) {
+        List<StatementStats> statementStats = statementMetricsRegistry.getStats();
+        if (reset) {
+            statementMetricsRegistry.reset();
+        }
+        long callCount = 0;
+        long rowCount = 0;
+        long totalTimeNanos = 0;
+        var result = new StringBuilder();
+        for (StatementStats stats : statementStats) {
+            if (stats.callCount() == 0) {
+                continue;
+            }
+            callCount += stats.callCount();
+            rowCount += stats.rowCount();
+            totalTimeNanos += stats.totalTimeNanos();
+            result.append(statementStatsToString(stats)).append(System.lineSeparator());
+        }
+        return result.append("Total: calls %d, rows %d, time %s ms".formatted(callCount, rowCount,
+                toMillis(totalTimeNanos))).toString();
+    }
+
+    // cstats
+    @ShellMethod(value = "Show authors and genres cache statistics", key = "cstats")
+    public String showCacheStats() {
+        return Stream.concat(authorRepository.getStats().stream(), genreRepository.getStats().stream())
+                .map(ConsoleCommands::cacheStatsToString)
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    // cclear - после изменения авторов или жанров в обход приложения, например через консоль h2
+    @ShellMethod(value = "Clear authors and genres cache", key = "cclear")
+    public String clearCache() {
+        authorRepository.evictAll();
+        genreRepository.evictAll();
+        return "Authors and genres cache cleared";
+    }
+
+    private static String statementStatsToString(StatementStats stats) {
+        return "%s: calls %d, errors %d, rows %d, total %s ms, p50 %s ms, p99 %s ms, max %s ms".formatted(
+                stats.name(), stats.callCount(), stats.errorCount(), stats.rowCount(),
+                toMillis(stats.totalTimeNanos()), toMillis(stats.p50Nanos()), toMillis(stats.p99Nanos()),
+                toMillis(stats.maxNanos()));
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    private static String cacheStatsToString(CacheStats stats) {
+        return "%s: size %d of %d, hits %d, misses %d, hit ratio %s%%, evictions %d".formatted(stats.name(),
+                stats.size(), stats.maxSize(), stats.hitCount(), stats.missCount(),
+                String.format(Locale.ROOT, "%.1f", stats.hitRatio() * 100), stats.evictionCount());
+    }
 }
@@ -0,0 +1,134 @@
+package ru.otus.hw.metrics;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * NamedParameterJdbcTemplate, который замеряет каждый запрос. Переопределены только методы, выполняющие запрос:
+ * остальные перегрузки (с Map параметров, queryForList и т.п.) сводятся к ним внутри шаблона,
+ * поэтому каждый запрос учитывается ровно один раз. На запрос - два вызова nanoTime и несколько счетчиков.
+ */
+public class MeteredNamedParameterJdbcTemplate extends NamedParameterJdbcTemplate {
+
+    private final StatementMetricsRegistry metricsRegistry;
+
+    public MeteredNamedParameterJdbcTemplate(JdbcOperations jdbcOperations, StatementMetricsRegistry metricsRegistry) {
+        super(jdbcOperations);
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public <T> T query(String sql, SqlParameterSource paramSource, ResultSetExtractor<T> rse) {
+        return measure(sql, () -> super.query(sql, paramSource, rse), MeteredNamedParameterJdbcTemplate::rowsOf);
+    }
+
+    @Override
+    public void query(String sql, SqlParameterSource paramSource, RowCallbackHandler rch) {
+        var countingHandler = new CountingRowCallbackHandler(rch);
+        measure(sql, () -> {
+            super.query(sql, paramSource, countingHandler);
+            return countingHandler;
+        }, CountingRowCallbackHandler::getRowCount);
+    }
+
+    @Override
+    public <T> List<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+        return measure(sql, () -> super.query(sql, paramSource, rowMapper), List::size);
+    }
+
+    @Override
+    public <T> T queryForObject(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+        return measure(sql, () -> super.queryForObject(sql, paramSource, rowMapper),
+                MeteredNamedParameterJdbcTemplate::rowsOf);
+    }
+
+    @Override
+    public int update(String sql, SqlParameterSource paramSource) {
+        return measure(sql, () -> super.update(sql, paramSource), Integer::longValue);
+    }
+
+    @Override
+    public int update(String sql, SqlParameterSource paramSource, KeyHolder generatedKeyHolder,
+                      String[] keyColumnNames) {
+        return measure(sql, () -> super.update(sql, paramSource, generatedKeyHolder, keyColumnNames),
+                Integer::longValue);
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, SqlParameterSource[] batchArgs) {
+        return measure(sql, () -> super.batchUpdate(sql, batchArgs), MeteredNamedParameterJdbcTemplate::rowsOf);
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, SqlParameterSource[] batchArgs, KeyHolder generatedKeyHolder,
+                             String[] keyColumnNames) {
+        return measure(sql, () -> super.batchUpdate(sql, batchArgs, generatedKeyHolder, keyColumnNames),
+                MeteredNamedParameterJdbcTemplate::rowsOf);
+    }
+
+    private <T> T measure(String sql, Supplier<T> statement, ToLongFunction<T> rowCounter) {
+        StatementMetrics metrics = metricsRegistry.forSql(sql);
+        long startNanos = System.nanoTime();
+        T result;
+        try {
+            result = statement.get();
+        } catch (RuntimeException e) {
+            metrics.recordError(System.nanoTime() - startNanos);
+            throw e;
+        }
+        metrics.record(System.nanoTime() - startNanos, rowCounter.applyAsLong(result));
+        return result;
+    }
+
+    private static long rowsOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        return 1;
+    }
+
+    // Драйвер может вернуть SUCCESS_NO_INFO вместо числа строк - считаем такой элемент batch за одну строку
+    private static long rowsOf(int[] updateCounts) {
+        long rows = 0;
+        for (int updateCount : updateCounts) {
+            rows += updateCount >= 0 ? updateCount : 1;
+        }
+        return rows;
+    }
+
+    private static class CountingRowCallbackHandler implements RowCallbackHandler {
+
+        private final RowCallbackHandler delegate;
+
+        private long rowCount;
+
+        CountingRowCallbackHandler(RowCallbackHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            rowCount++;
+            delegate.processRow(rs);
+        }
+
+        long getRowCount() {
+            return rowCount;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ru.otus.hw.metrics;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class QueryMetricsConfig {
+
+    // Заменяет NamedParameterJdbcTemplate из автоконфигурации Spring Boot, настройки JdbcTemplate сохраняются
+    @Bean
+    public MeteredNamedParameterJdbcTemplate namedParameterJdbcTemplate(JdbcTemplate jdbcTemplate,
+                                                                        StatementMetricsRegistry metricsRegistry) {
+        return new MeteredNamedParameterJdbcTemplate(jdbcTemplate, metricsRegistry);
+    }
+}
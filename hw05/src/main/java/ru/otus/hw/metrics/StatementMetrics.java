@@ -0,0 +1,54 @@
+package ru.otus.hw.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счетчики одного логического запроса: вызовы, ошибки, строки и задержки.
+ */
+public class StatementMetrics {
+
+    private final String name;
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    private final LongAdder callCount = new LongAdder();
+
+    private final LongAdder errorCount = new LongAdder();
+
+    private final LongAdder rowCount = new LongAdder();
+
+    private final LongAdder totalTimeNanos = new LongAdder();
+
+    StatementMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void record(long elapsedNanos, long rows) {
+        latencies.record(elapsedNanos);
+        callCount.increment();
+        rowCount.add(rows);
+        totalTimeNanos.add(elapsedNanos);
+    }
+
+    void recordError(long elapsedNanos) {
+        record(elapsedNanos, 0);
+        errorCount.increment();
+    }
+
+    void reset() {
+        latencies.reset();
+        callCount.reset();
+        errorCount.reset();
+        rowCount.reset();
+        totalTimeNanos.reset();
+    }
+
+    public StatementStats getStats() {
+        return new StatementStats(name, callCount.sum(), errorCount.sum(), rowCount.sum(), totalTimeNanos.sum(),
+                latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(99), latencies.getMaxValue());
+    }
+}
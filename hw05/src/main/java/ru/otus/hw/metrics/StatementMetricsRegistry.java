@@ -0,0 +1,64 @@
+package ru.otus.hw.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Метрики запросов по логическим именам. Имя берется из комментария в первой строке SQL ("-- books.findById"),
+ * у запросов без него - начало текста запроса.
+ */
+@Component
+public class StatementMetricsRegistry {
+
+    private static final String NAME_COMMENT = "--";
+
+    private static final int MAX_UNNAMED_LENGTH = 60;
+
+    // Запросы в репозиториях - константы, так что кэш по тексту ограничен их числом;
+    // ограничение на случай динамически собираемого SQL
+    private static final int MAX_CACHED_STATEMENTS = 1024;
+
+    private final Map<String, StatementMetrics> metricsBySql = new ConcurrentHashMap<>();
+
+    private final Map<String, StatementMetrics> metricsByName = new ConcurrentHashMap<>();
+
+    public StatementMetrics forSql(String sql) {
+        StatementMetrics metrics = metricsBySql.get(sql);
+        if (metrics != null) {
+            return metrics;
+        }
+        metrics = metricsByName.computeIfAbsent(nameOf(sql), StatementMetrics::new);
+        if (metricsBySql.size() < MAX_CACHED_STATEMENTS) {
+            metricsBySql.put(sql, metrics);
+        }
+        return metrics;
+    }
+
+    // По убыванию суммарного времени
+    public List<StatementStats> getStats() {
+        return metricsByName.values().stream()
+                .map(StatementMetrics::getStats)
+                .sorted(Comparator.comparingLong(StatementStats::totalTimeNanos).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        metricsByName.values().forEach(StatementMetrics::reset);
+    }
+
+    static String nameOf(String sql) {
+        String trimmedSql = sql.strip();
+        if (trimmedSql.startsWith(NAME_COMMENT)) {
+            int lineEnd = trimmedSql.indexOf('\n');
+            return trimmedSql.substring(NAME_COMMENT.length(), lineEnd < 0 ? trimmedSql.length() : lineEnd).strip();
+        }
+        String normalizedSql = trimmedSql.replaceAll("\\s+", " ");
+        return normalizedSql.length() <= MAX_UNNAMED_LENGTH
+                ? normalizedSql
+                : normalizedSql.substring(0, MAX_UNNAMED_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,6 @@
+package ru.otus.hw.metrics;
+
+// Снимок счетчиков запроса, времена в наносекундах
+public record StatementStats(String name, long callCount, long errorCount, long rowCount, long totalTimeNanos,
+                             long p50Nanos, long p99Nanos, long maxNanos) {
+}
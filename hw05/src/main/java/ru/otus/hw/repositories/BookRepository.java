@@ -4,13 +4,35 @@ import ru.otus.hw.models.Book;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface BookRepository {
     Optional<Book> findById(long id);
 
+    // Книги с авторами и жанрами одним запросом, по возрастанию id; несуществующие id пропускаются
+    List<Book> findAllByIds(Set<Long> ids);
+
     List<Book> findAll();
 
+    // Отдает книги по одной по мере чтения, не держа весь список в памяти
+    void findAll(Consumer<Book> action);
+
+    // Id и названия всех книг по возрастанию id, например для построения поискового индекса
+    void findAllTitles(TitleConsumer action);
+
+    // Не больше limit книг с id больше afterId, по возрастанию id
+    List<Book> findPage(long afterId, int limit);
+
     Book save(Book book);
 
+    // Вставляет новые книги batch-ами и проставляет им сгенерированные id
+    void insertAll(List<Book> books);
+
     void deleteById(long id);
+
+    @FunctionalInterface
+    interface TitleConsumer {
+        void accept(long id, String title);
+    }
 }
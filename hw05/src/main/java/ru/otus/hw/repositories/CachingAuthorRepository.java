@@ -0,0 +1,80 @@
+package ru.otus.hw.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.repositories.cache.BoundedCache;
+import ru.otus.hw.repositories.cache.CacheStats;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Кэш авторов поверх JdbcAuthorRepository: авторы меняются редко, а читаются при каждом сохранении книги.
+ * Полный список кэшируется, только если помещается в лимит кэша.
+ * Авторы изменяемые и попадают в книги, поэтому наружу отдаются только копии закэшированных объектов.
+ */
+@Primary
+@Repository
+public class CachingAuthorRepository implements AuthorRepository {
+
+    private static final String ALL = "all";
+
+    private final AuthorRepository sourceRepository;
+
+    private final BoundedCache<Long, Author> authorsById;
+
+    private final BoundedCache<String, List<Author>> allAuthors = new BoundedCache<>("authors.all", 1);
+
+    public CachingAuthorRepository(JdbcAuthorRepository sourceRepository,
+                                   @Value("${library.reference-cache.max-size:10000}") int maxSize) {
+        this.sourceRepository = sourceRepository;
+        this.authorsById = new BoundedCache<>("authors", maxSize);
+    }
+
+    @Override
+    public List<Author> findAll() {
+        List<Author> authors = allAuthors.get(ALL);
+        if (authors != null) {
+            return copyOf(authors);
+        }
+        authors = sourceRepository.findAll();
+        if (authors.size() <= authorsById.getMaxSize()) {
+            List<Author> cachedAuthors = copyOf(authors);
+            allAuthors.put(ALL, cachedAuthors);
+            cachedAuthors.forEach(author -> authorsById.put(author.getId(), author));
+        }
+        return authors;
+    }
+
+    @Override
+    public Optional<Author> findById(long id) {
+        Author author = authorsById.get(id);
+        if (author != null) {
+            return Optional.of(copyOf(author));
+        }
+        Optional<Author> loadedAuthor = sourceRepository.findById(id);
+        loadedAuthor.ifPresent(value -> authorsById.put(id, copyOf(value)));
+        return loadedAuthor;
+    }
+
+    public void evictAll() {
+        authorsById.invalidateAll();
+        allAuthors.invalidateAll();
+    }
+
+    public List<CacheStats> getStats() {
+        return List.of(authorsById.getStats(), allAuthors.getStats());
+    }
+
+    private static Author copyOf(Author author) {
+        return new Author(author.getId(), author.getFullName());
+    }
+
+    private static List<Author> copyOf(List<Author> authors) {
+        return authors.stream()
+                .map(CachingAuthorRepository::copyOf)
+                .toList();
+    }
+}
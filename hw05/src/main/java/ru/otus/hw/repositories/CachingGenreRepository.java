@@ -0,0 +1,95 @@
+package ru.otus.hw.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.cache.BoundedCache;
+import ru.otus.hw.repositories.cache.CacheStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Кэш жанров поверх JdbcGenreRepository. По набору id из БД дочитываются только отсутствующие в кэше жанры.
+ * Полный список кэшируется, только если помещается в лимит кэша.
+ * Жанры изменяемые и попадают в книги, поэтому наружу отдаются только копии закэшированных объектов.
+ */
+@Primary
+@Repository
+public class CachingGenreRepository implements GenreRepository {
+
+    private static final String ALL = "all";
+
+    private final GenreRepository sourceRepository;
+
+    private final BoundedCache<Long, Genre> genresById;
+
+    private final BoundedCache<String, List<Genre>> allGenres = new BoundedCache<>("genres.all", 1);
+
+    public CachingGenreRepository(JdbcGenreRepository sourceRepository,
+                                  @Value("${library.reference-cache.max-size:10000}") int maxSize) {
+        this.sourceRepository = sourceRepository;
+        this.genresById = new BoundedCache<>("genres", maxSize);
+    }
+
+    @Override
+    public List<Genre> findAll() {
+        List<Genre> genres = allGenres.get(ALL);
+        if (genres != null) {
+            return copyOf(genres);
+        }
+        genres = sourceRepository.findAll();
+        if (genres.size() <= genresById.getMaxSize()) {
+            List<Genre> cachedGenres = copyOf(genres);
+            allGenres.put(ALL, cachedGenres);
+            cachedGenres.forEach(genre -> genresById.put(genre.getId(), genre));
+        }
+        return genres;
+    }
+
+    // Жанры по возрастанию id; отсутствующих в БД id в результате нет
+    @Override
+    public List<Genre> findAllByIds(Set<Long> ids) {
+        List<Genre> genres = new ArrayList<>(ids.size());
+        Set<Long> missingIds = new HashSet<>();
+        for (Long id : ids) {
+            Genre genre = genresById.get(id);
+            if (genre == null) {
+                missingIds.add(id);
+            } else {
+                genres.add(copyOf(genre));
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            for (Genre genre : sourceRepository.findAllByIds(missingIds)) {
+                genresById.put(genre.getId(), copyOf(genre));
+                genres.add(genre);
+            }
+        }
+        genres.sort(Comparator.comparingLong(Genre::getId));
+        return genres;
+    }
+
+    public void evictAll() {
+        genresById.invalidateAll();
+        allGenres.invalidateAll();
+    }
+
+    public List<CacheStats> getStats() {
+        return List.of(genresById.getStats(), allGenres.getStats());
+    }
+
+    private static Genre copyOf(Genre genre) {
+        return new Genre(genre.getId(), genre.getName());
+    }
+
+    private static List<Genre> copyOf(List<Genre> genres) {
+        return genres.stream()
+                .map(CachingGenreRepository::copyOf)
+                .toList();
+    }
+}
@@ -22,6 +22,7 @@ public class JdbcAuthorRepository implements AuthorRepository {
     public List<Author> findAll() {
         // language=SQL
         String sql = """
+                -- authors.findAll
                 SELECT
                     id,
                     full_name
@@ -36,6 +37,7 @@ public class JdbcAuthorRepository implements AuthorRepository {
                 .addValue("id", id);
         // language=SQL
         String sql = """
+                -- authors.findById
                 SELECT
                     id,
                     full_name
@@ -3,31 +3,40 @@ package ru.otus.hw.repositories;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.otus.hw.exceptions.EntityNotFoundException;
 import ru.otus.hw.models.Author;
 import ru.otus.hw.models.Book;
 import ru.otus.hw.models.Genre;
+import ru.otus.hw.search.TitleSearchIndex;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
 public class JdbcBookRepository implements BookRepository {
 
+    private static final String ID = "id";
+
     private static final String BOOK_ID = "book_id";
 
     private static final String GENRE_ID = "genre_id";
@@ -40,16 +49,25 @@ public class JdbcBookRepository implements BookRepository {
 
     private static final String GENRE_NAME = "genre_name";
 
-    private final GenreRepository genreRepository;
+    private static final String BOOK_IDS = "book_ids";
+
+    private static final String GENRE_IDS = "genre_ids";
+
+    private static final String AFTER_ID = "after_id";
+
+    private static final String LIMIT = "limit";
 
     private final NamedParameterJdbcOperations jdbc;
 
+    private final TitleSearchIndex titleSearchIndex;
+
     @Override
     public Optional<Book> findById(long id) {
         var params = new MapSqlParameterSource()
                 .addValue(BOOK_ID, id);
         //language=sql
         String sql = """
+                -- books.findById
                 SELECT
                     b.id as book_id,
                     b.title,
@@ -68,93 +86,203 @@ public class JdbcBookRepository implements BookRepository {
         return Optional.ofNullable(book);
     }
 
+    @Override
+    public List<Book> findAllByIds(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        var params = new MapSqlParameterSource()
+                .addValue(BOOK_IDS, ids);
+        // Тот же join, что и в findById, но на все id сразу: строки группируются по книге
+        //language=sql
+        String sql = """
+                -- books.findAllByIds
+                SELECT
+                    b.id as book_id,
+                    b.title,
+                    a.id as author_id,
+                    a.full_name,
+                    g.id as genre_id,
+                    g.name as genre_name
+                FROM books b
+                LEFT JOIN authors a ON b.author_id = a.id
+                LEFT JOIN books_genres bg ON b.id = bg.book_id
+                LEFT JOIN genres g ON bg.genre_id = g.id
+                WHERE b.id IN (:book_ids)
+                ORDER BY b.id, g.id
+                """;
+        List<Book> books = new ArrayList<>(ids.size());
+        var bookAssembler = new BookRowCallbackHandler(books::add);
+        jdbc.query(sql, params, bookAssembler);
+        bookAssembler.complete();
+        return books;
+    }
+
     @Override
     public List<Book> findAll() {
-        var genres = genreRepository.findAll();
-        var relations = getAllGenreRelations();
-        var books = getAllBooksWithoutGenres();
-        mergeBooksInfo(books, genres, relations);
+        List<Book> books = new ArrayList<>();
+        findAll(books::add);
         return books;
     }
 
     @Override
-    public Book save(Book book) {
-        if (book.getId() == 0) {
-            return insert(book);
-        }
-        return update(book);
+    public void findAll(Consumer<Book> action) {
+        // Один запрос, упорядоченный по книге: строки одной книги идут подряд,
+        // поэтому книга отдается, как только начинаются строки следующей.
+        // Сколько строк драйвер читает за раз, задает spring.jdbc.template.fetch-size
+        //language=sql
+        String sql = """
+                -- books.findAll
+                SELECT
+                    b.id as book_id,
+                    b.title,
+                    a.id as author_id,
+                    a.full_name,
+                    g.id as genre_id,
+                    g.name as genre_name
+                FROM books b
+                INNER JOIN authors a ON b.author_id = a.id
+                LEFT JOIN books_genres bg ON b.id = bg.book_id
+                LEFT JOIN genres g ON bg.genre_id = g.id
+                ORDER BY b.id, g.id
+                """;
+        var bookAssembler = new BookRowCallbackHandler(action);
+        jdbc.query(sql, bookAssembler);
+        bookAssembler.complete();
     }
 
     @Override
-    public void deleteById(long id) {
+    public void findAllTitles(TitleConsumer action) {
+        //language=sql
+        String sql = """
+                -- books.findAllTitles
+                SELECT id, title
+                FROM books
+                ORDER BY id
+                """;
+        jdbc.query(sql, (RowCallbackHandler) rs -> action.accept(rs.getLong(ID), rs.getString(TITLE)));
+    }
+
+    @Override
+    public List<Book> findPage(long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive, got %d".formatted(limit));
+        }
         var params = new MapSqlParameterSource()
-                .addValue(BOOK_ID, id);
-        // language=SQL
+                .addValue(AFTER_ID, afterId)
+                .addValue(LIMIT, limit);
+        // Поиск по первичному ключу вместо OFFSET: страница стоит одинаково в любом месте таблицы
+        //language=sql
         String sql = """
-                DELETE FROM books
-                WHERE id = :book_id;
+                -- books.findPage
+                SELECT
+                    b.id as book_id,
+                    b.title,
+                    a.id as author_id,
+                    a.full_name
+                FROM books b
+                INNER JOIN authors a ON b.author_id = a.id
+                WHERE b.id > :after_id
+                ORDER BY b.id
+                LIMIT :limit
                 """;
-        jdbc.update(sql, params);
+        List<Book> books = jdbc.query(sql, params, new BookRowMapper());
+        fillGenres(books);
+        return books;
+    }
+
+    @Override
+    public Book save(Book book) {
+        Book savedBook = book.getId() == 0 ? insert(book) : update(book);
+        long bookId = savedBook.getId();
+        String title = savedBook.getTitle();
+        afterCommit(() -> titleSearchIndex.put(bookId, title));
+        return savedBook;
     }
 
-    private List<Book> getAllBooksWithoutGenres() {
+    @Override
+    public void insertAll(List<Book> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        var batchArgs = books.stream()
+                .map(book -> new MapSqlParameterSource()
+                        .addValue(TITLE, book.getTitle())
+                        .addValue(AUTHOR_ID, book.getAuthor().getId()))
+                .toArray(SqlParameterSource[]::new);
+        var keyHolder = new GeneratedKeyHolder();
         // language=SQL
         String sql = """
-                SELECT
-                    books.id as book_id,
-                    books.title,
-                    books.author_id,
-                    authors.full_name
-                FROM books
-                INNER JOIN authors
-                    on  books.author_id = authors.id;
+                -- books.insertAll
+                INSERT INTO books (title, author_id)
+                    VALUES (:title, :author_id)
                 """;
-        return jdbc.query(sql, new BookRowMapper());
+        // Один batch на все книги, сгенерированные id возвращаются в порядке строк batch
+        jdbc.batchUpdate(sql, batchArgs, keyHolder, new String[]{ID});
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < books.size(); i++) {
+            books.get(i).setId(((Number) keys.get(i).get(ID)).longValue());
+        }
+        batchInsertGenresRelationsFor(books);
+        Map<Long, String> titlesById = new LinkedHashMap<>(books.size() * 2);
+        books.forEach(book -> titlesById.put(book.getId(), book.getTitle()));
+        afterCommit(() -> titlesById.forEach(titleSearchIndex::put));
     }
 
-    private List<BookGenreRelation> getAllGenreRelations() {
+    @Override
+    public void deleteById(long id) {
+        var params = new MapSqlParameterSource()
+                .addValue(BOOK_ID, id);
         // language=SQL
         String sql = """
-                SELECT book_id, genre_id
-                FROM books_genres;
+                -- books.deleteById
+                DELETE FROM books
+                WHERE id = :book_id;
                 """;
-        return jdbc.query(sql, (rs, rowNum) ->
-                new BookGenreRelation(
-                        rs.getLong(BOOK_ID),
-                        rs.getLong(GENRE_ID)));
+        jdbc.update(sql, params);
+        afterCommit(() -> titleSearchIndex.remove(id));
     }
 
-    private void mergeBooksInfo(List<Book> booksWithoutGenres, List<Genre> genres,
-                                List<BookGenreRelation> relations) {
-
-        // Создаем Map<genreId, Genre> для быстрого поиска
-        Map<Long, Genre> genreMap = genres.stream()
-                .collect(Collectors.toMap(Genre::getId, Function.identity()));
-
-        // Группируем genreIds по bookId
-        Map<Long, List<Long>> genreIdsByBookId = relations.stream()
-                .collect(Collectors.groupingBy(
-                        BookGenreRelation::bookId,
-                        Collectors.mapping(BookGenreRelation::genreId, Collectors.toList())
-                ));
-
-        for (Book book : booksWithoutGenres) {
-            List<Genre> genresForBooks = genreIdsByBookId.getOrDefault(book.getId(), List.of()).stream()
-                    .map(genreMap::get)
-                    .filter(Objects::nonNull)
-                    .toList();
-            book.setGenres(genresForBooks);
+    // Индекс поиска меняется только после коммита, чтобы откат не оставлял в нем чужих названий.
+    // Вне транзакции изменения видны сразу, и индекс обновляется сразу
+    private static void afterCommit(Runnable indexUpdate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indexUpdate.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indexUpdate.run();
+            }
+        });
     }
 
-    private Genre findGenreById(List<Genre> genres, long genreId) {
-        return genres.stream()
-                .filter(genre -> genre.getId() == genreId)
-                .findFirst()
-                .orElse(null);
+    // Жанры всех книг страницы одним IN-запросом
+    private void fillGenres(List<Book> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        Map<Long, Book> booksById = new HashMap<>(books.size() * 2);
+        books.forEach(book -> booksById.put(book.getId(), book));
+        var params = new MapSqlParameterSource()
+                .addValue(BOOK_IDS, booksById.keySet());
+        //language=sql
+        String sql = """
+                -- books.findPageGenres
+                SELECT
+                    bg.book_id,
+                    g.id as genre_id,
+                    g.name as genre_name
+                FROM books_genres bg
+                INNER JOIN genres g ON bg.genre_id = g.id
+                WHERE bg.book_id IN (:book_ids)
+                ORDER BY bg.book_id, g.id
+                """;
+        jdbc.query(sql, params, (RowCallbackHandler) rs -> booksById.get(rs.getLong(BOOK_ID)).getGenres()
+                .add(new Genre(rs.getLong(GENRE_ID), rs.getString(GENRE_NAME))));
     }
 
-
     private Book insert(Book book) {
         var keyHolder = new GeneratedKeyHolder();
         var params = new MapSqlParameterSource()
@@ -162,13 +290,14 @@ public class JdbcBookRepository implements BookRepository {
                 .addValue(AUTHOR_ID, book.getAuthor().getId());
         // language=SQL
         String sql = """
+                -- books.insert
                 INSERT INTO books ( title, author_id)
                     VALUES ( :title, :author_id);
                 """;
         jdbc.update(sql, params, keyHolder);
         //noinspection DataFlowIssue
         book.setId(keyHolder.getKeyAs(Long.class));
-        batchInsertGenresRelationsFor(book);
+        batchInsertGenresRelationsFor(List.of(book));
         return book;
     }
 
@@ -180,6 +309,7 @@ public class JdbcBookRepository implements BookRepository {
 
         //language=sql
         String sql = """
+                    -- books.update
                     UPDATE books
                         SET title = :title, author_id = :author_id
                         WHERE id = :book_id
@@ -189,36 +319,78 @@ public class JdbcBookRepository implements BookRepository {
         if (rowsUpdated <= 0) {
             throw new EntityNotFoundException("Book row not updated for id=%d".formatted(book.getId()));
         }
-        removeGenresRelationsFor(book);
-        batchInsertGenresRelationsFor(book);
+        updateGenresRelationsFor(book);
         return book;
     }
 
-    private void batchInsertGenresRelationsFor(Book book) {
-        List<Genre> genres = book.getGenres();
-        if (genres.isEmpty()) {
+    // Меняются только связи с добавленными и убранными жанрами, остальные строки books_genres не трогаем
+    private void updateGenresRelationsFor(Book book) {
+        Set<Long> currentGenreIds = findGenreIdsByBookId(book.getId());
+        Set<Long> newGenreIds = book.getGenres().stream()
+                .map(Genre::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        Set<Long> removedGenreIds = new HashSet<>(currentGenreIds);
+        removedGenreIds.removeAll(newGenreIds);
+        removeGenresRelations(book.getId(), removedGenreIds);
+
+        newGenreIds.removeAll(currentGenreIds);
+        insertGenresRelations(newGenreIds.stream()
+                .map(genreId -> genreRelationParams(book.getId(), genreId))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    private Set<Long> findGenreIdsByBookId(long bookId) {
+        var params = new MapSqlParameterSource()
+                .addValue(BOOK_ID, bookId);
+        //language=sql
+        String sql = """
+                -- books.findGenreIds
+                SELECT genre_id
+                FROM books_genres
+                WHERE book_id = :book_id
+                """;
+        return new HashSet<>(jdbc.queryForList(sql, params, Long.class));
+    }
+
+    private void batchInsertGenresRelationsFor(List<Book> books) {
+        insertGenresRelations(books.stream()
+                .flatMap(book -> book.getGenres().stream()
+                        .map(genre -> genreRelationParams(book.getId(), genre.getId())))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    private static SqlParameterSource genreRelationParams(long bookId, long genreId) {
+        return new MapSqlParameterSource()
+                .addValue(BOOK_ID, bookId)
+                .addValue(GENRE_ID, genreId);
+    }
+
+    private void insertGenresRelations(SqlParameterSource[] batchArgs) {
+        if (batchArgs.length == 0) {
             return; // если жанров нет, ничего не делаем
         }
-        var batchArgs = genres.stream()
-                .map(genre -> new MapSqlParameterSource()
-                        .addValue(BOOK_ID, book.getId())
-                        .addValue(GENRE_ID, genre.getId()))
-                .toArray(SqlParameterSource[]::new);
         // language=sql
         String sql = """
+                -- books.insertGenres
                 INSERT INTO books_genres (book_id, genre_id)
                     VALUES (:book_id, :genre_id)
                 """;
         jdbc.batchUpdate(sql, batchArgs);
     }
 
-    private void removeGenresRelationsFor(Book book) {
+    private void removeGenresRelations(long bookId, Set<Long> genreIds) {
+        if (genreIds.isEmpty()) {
+            return;
+        }
         var params = new MapSqlParameterSource()
-                .addValue(BOOK_ID, book.getId());
+                .addValue(BOOK_ID, bookId)
+                .addValue(GENRE_IDS, genreIds);
         //language=sql
         String sql = """
+                    -- books.deleteGenres
                     DELETE FROM books_genres
-                        where book_id = :book_id;
+                        where book_id = :book_id AND genre_id IN (:genre_ids);
                 """;
         jdbc.update(sql, params);
     }
@@ -227,13 +399,8 @@ public class JdbcBookRepository implements BookRepository {
 
         @Override
         public Book mapRow(ResultSet rs, int rowNum) throws SQLException {
-            Book bookWithoutGenres = new Book();
-            bookWithoutGenres.setId(rs.getLong(BOOK_ID));
-            bookWithoutGenres.setTitle(rs.getString(TITLE));
-            bookWithoutGenres.setAuthor(new Author(
-                    rs.getLong(AUTHOR_ID),
-                    rs.getString("full_name")));
-            return bookWithoutGenres;
+            return new Book(rs.getLong(BOOK_ID), rs.getString(TITLE),
+                    new Author(rs.getLong(AUTHOR_ID), rs.getString(FULL_NAME)), new ArrayList<>());
         }
     }
 
@@ -266,6 +433,37 @@ public class JdbcBookRepository implements BookRepository {
         }
     }
 
-    private record BookGenreRelation(long bookId, long genreId) {
+    private static class BookRowCallbackHandler implements RowCallbackHandler {
+
+        private final Consumer<Book> action;
+
+        private Book currentBook;
+
+        BookRowCallbackHandler(Consumer<Book> action) {
+            this.action = action;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long bookId = rs.getLong(BOOK_ID);
+            if (currentBook == null || currentBook.getId() != bookId) {
+                complete();
+                currentBook = new Book(bookId, rs.getString(TITLE),
+                        new Author(rs.getLong(AUTHOR_ID), rs.getString(FULL_NAME)), new ArrayList<>());
+            }
+            if (rs.getObject(GENRE_ID) != null) {
+                currentBook.getGenres().add(new Genre(
+                        rs.getLong(GENRE_ID),
+                        rs.getString(GENRE_NAME)));
+            }
+        }
+
+        // Отдает последнюю собранную книгу
+        void complete() {
+            if (currentBook != null) {
+                action.accept(currentBook);
+                currentBook = null;
+            }
+        }
     }
 }
@@ -24,6 +24,7 @@ public class JdbcGenreRepository implements GenreRepository {
     public List<Genre> findAll() {
         // language=SQL
         String sql = """
+                -- genres.findAll
                 SELECT
                     id,
                     name
@@ -42,6 +43,7 @@ public class JdbcGenreRepository implements GenreRepository {
                 .addValue("ids", ids);
         // language=SQL
         String sql = """
+                -- genres.findAllByIds
                 SELECT
                     id,
                     name
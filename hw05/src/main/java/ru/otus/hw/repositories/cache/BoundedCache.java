@@ -0,0 +1,68 @@
+package ru.otus.hw.repositories.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Кэш с ограничением по числу записей: при переполнении вытесняется запись, к которой дольше всего не обращались.
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+
+    private final int maxSize;
+
+    private final Map<K, V> entries;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public BoundedCache(String name, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive, got %d".formatted(maxSize));
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    // null, если значения нет; попадания и промахи учитываются в статистике
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(name, hitCount.sum(), missCount.sum(), evictionCount.sum(), entries.size(), maxSize);
+    }
+}
@@ -0,0 +1,9 @@
+package ru.otus.hw.repositories.cache;
+
+public record CacheStats(String name, long hitCount, long missCount, long evictionCount, int size, int maxSize) {
+
+    public double hitRatio() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+}
@@ -0,0 +1,48 @@
+package ru.otus.hw.search;
+
+import java.util.Arrays;
+
+// Возрастающий список номеров документов на int[] без упаковки в Integer
+class IntPostingList {
+
+    private int[] docs = new int[4];
+
+    private int size;
+
+    void add(int doc) {
+        if (size > 0 && docs[size - 1] == doc) {
+            return; // триграмма повторяется в одном названии
+        }
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+        }
+        docs[size++] = doc;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(docs, size);
+    }
+
+    /**
+     * Оставляет в начале candidates только документы, которые есть в этом списке, и возвращает их число.
+     * Кандидатов обычно намного меньше, поэтому каждый ищется двоичным поиском от позиции предыдущего.
+     */
+    int retainAll(int[] candidates, int candidateCount) {
+        int retainedCount = 0;
+        int from = 0;
+        for (int i = 0; i < candidateCount && from < size; i++) {
+            int position = Arrays.binarySearch(docs, from, size, candidates[i]);
+            if (position >= 0) {
+                candidates[retainedCount++] = candidates[i];
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return retainedCount;
+    }
+}
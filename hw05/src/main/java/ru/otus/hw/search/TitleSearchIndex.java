@@ -0,0 +1,184 @@
+package ru.otus.hw.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс названий книг по триграммам для поиска подстроки без учета регистра.
+ * Книга получает номер документа, для каждой триграммы хранится возрастающий список номеров.
+ * Поиск пересекает списки триграмм запроса и проверяет найденные названия на вхождение подстроки.
+ * Удаленные документы остаются в списках, пока их не станет больше живых, после чего индекс пересобирается.
+ */
+@Component
+public class TitleSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, IntPostingList> postingsByTrigram = new HashMap<>();
+
+    private final Map<Long, Integer> docsByBookId = new HashMap<>();
+
+    private long[] bookIds = new long[INITIAL_CAPACITY];
+
+    // Названия в нижнем регистре, null у удаленных документов
+    private String[] titles = new String[INITIAL_CAPACITY];
+
+    private int docCount;
+
+    private int deletedCount;
+
+    public void put(long bookId, String title) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(bookId);
+            addDoc(bookId, normalize(title));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(bookId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByBookId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Id не более чем limit книг, в названии которых есть text, в порядке добавления в индекс.
+     */
+    public List<Long> search(String text, int limit) {
+        String query = normalize(text);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM_LENGTH) {
+                return collectMatches(null, docCount, query, limit);
+            }
+            IntPostingList[] postings = findPostings(query);
+            if (postings.length == 0) {
+                return List.of();
+            }
+            // Начинаем с самого короткого списка, чтобы кандидатов было меньше
+            Arrays.sort(postings, Comparator.comparingInt(IntPostingList::size));
+            int[] candidates = postings[0].toArray();
+            int candidateCount = candidates.length;
+            for (int i = 1; i < postings.length && candidateCount > 0; i++) {
+                candidateCount = postings[i].retainAll(candidates, candidateCount);
+            }
+            return collectMatches(candidates, candidateCount, query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Списки всех триграмм запроса или пустой массив, если какой-то триграммы нет ни в одном названии
+    private IntPostingList[] findPostings(String query) {
+        Map<Long, IntPostingList> queryPostings = new HashMap<>();
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            long trigram = trigramAt(query, i);
+            IntPostingList postingList = postingsByTrigram.get(trigram);
+            if (postingList == null) {
+                return new IntPostingList[0];
+            }
+            queryPostings.put(trigram, postingList);
+        }
+        return queryPostings.values().toArray(IntPostingList[]::new);
+    }
+
+    // candidates == null - проверить все документы
+    private List<Long> collectMatches(int[] candidates, int candidateCount, String query, int limit) {
+        List<Long> foundBookIds = new ArrayList<>(Math.min(limit, candidateCount));
+        for (int i = 0; i < candidateCount && foundBookIds.size() < limit; i++) {
+            int doc = candidates == null ? i : candidates[i];
+            String title = titles[doc];
+            if (title != null && title.contains(query)) {
+                foundBookIds.add(bookIds[doc]);
+            }
+        }
+        return foundBookIds;
+    }
+
+    private void addDoc(long bookId, String title) {
+        if (docCount == titles.length) {
+            bookIds = Arrays.copyOf(bookIds, docCount * 2);
+            titles = Arrays.copyOf(titles, docCount * 2);
+        }
+        int doc = docCount++;
+        bookIds[doc] = bookId;
+        titles[doc] = title;
+        docsByBookId.put(bookId, doc);
+        for (int i = 0; i + GRAM_LENGTH <= title.length(); i++) {
+            postingsByTrigram.computeIfAbsent(trigramAt(title, i), trigram -> new IntPostingList()).add(doc);
+        }
+    }
+
+    private void removeDoc(long bookId) {
+        Integer doc = docsByBookId.remove(bookId);
+        if (doc != null) {
+            titles[doc] = null;
+            deletedCount++;
+        }
+    }
+
+    // Перенумеровывает живые документы подряд и строит списки заново
+    private void compactIfNeeded() {
+        if (deletedCount < MIN_DELETED_TO_COMPACT || deletedCount <= docsByBookId.size()) {
+            return;
+        }
+        long[] oldBookIds = bookIds;
+        String[] oldTitles = titles;
+        int oldDocCount = docCount;
+        int capacity = Math.max(INITIAL_CAPACITY, docsByBookId.size() * 2);
+        bookIds = new long[capacity];
+        titles = new String[capacity];
+        docCount = 0;
+        deletedCount = 0;
+        postingsByTrigram.clear();
+        docsByBookId.clear();
+        for (int doc = 0; doc < oldDocCount; doc++) {
+            if (oldTitles[doc] != null) {
+                addDoc(oldBookIds[doc], oldTitles[doc]);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    // Три символа UTF-16 в одном long
+    private static long trigramAt(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.otus.hw.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.repositories.BookRepository;
+
+// Заполняет индекс названий при старте; дальше его поддерживает JdbcBookRepository при сохранении и удалении.
+// ApplicationReadyEvent не подходит: он приходит уже после выхода из интерактивной оболочки
+@Component
+@RequiredArgsConstructor
+public class TitleSearchIndexLoader {
+
+    private final BookRepository bookRepository;
+
+    private final TitleSearchIndex titleSearchIndex;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void load() {
+        bookRepository.findAllTitles(titleSearchIndex::put);
+    }
+}
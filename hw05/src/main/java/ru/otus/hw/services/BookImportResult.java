@@ -0,0 +1,12 @@
+package ru.otus.hw.services;
+
+public record BookImportResult(long importedCount, long skippedCount, long wallTimeNanos) {
+
+    public long wallTimeMillis() {
+        return wallTimeNanos / 1_000_000;
+    }
+
+    public long booksPerSecond() {
+        return wallTimeNanos == 0 ? 0 : importedCount * 1_000_000_000 / wallTimeNanos;
+    }
+}
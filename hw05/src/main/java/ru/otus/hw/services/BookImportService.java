@@ -0,0 +1,14 @@
+package ru.otus.hw.services;
+
+import java.nio.file.Path;
+import java.util.function.LongConsumer;
+
+public interface BookImportService {
+
+    /**
+     * Импортирует книги из CSV с заголовком и строками вида "название;ФИО автора;жанр 1,жанр 2".
+     * Каждые batchSize книг вставляются и фиксируются отдельной транзакцией, после чего
+     * в progress передается число уже импортированных книг.
+     */
+    BookImportResult importBooks(Path file, int batchSize, LongConsumer progress);
+}
@@ -0,0 +1,117 @@
+package ru.otus.hw.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.AuthorRepository;
+import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.GenreRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final char COLUMN_SEPARATOR = ';';
+
+    private static final String GENRES_SEPARATOR = ",";
+
+    private final AuthorRepository authorRepository;
+
+    private final GenreRepository genreRepository;
+
+    private final BookRepository bookRepository;
+
+    private final TransactionOperations transactionOperations;
+
+    @Override
+    public BookImportResult importBooks(Path file, int batchSize, LongConsumer progress) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, got %d".formatted(batchSize));
+        }
+        long startNanos = System.nanoTime();
+        // Справочники загружаются один раз, дальше авторы и жанры ищутся в памяти
+        Map<String, Author> authorsByName = authorRepository.findAll().stream()
+                .collect(Collectors.toMap(Author::getFullName, Function.identity(), (first, second) -> first));
+        Map<String, Genre> genresByName = genreRepository.findAll().stream()
+                .collect(Collectors.toMap(Genre::getName, Function.identity(), (first, second) -> first));
+
+        long importedCount = 0;
+        long skippedCount = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine(); // заголовок
+            List<Book> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Book book = parseBook(line, authorsByName, genresByName);
+                if (book == null) {
+                    skippedCount++;
+                    continue;
+                }
+                batch.add(book);
+                if (batch.size() == batchSize) {
+                    importedCount += insertBatch(batch);
+                    progress.accept(importedCount);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                importedCount += insertBatch(batch);
+                progress.accept(importedCount);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new BookImportResult(importedCount, skippedCount, System.nanoTime() - startNanos);
+    }
+
+    private int insertBatch(List<Book> batch) {
+        transactionOperations.executeWithoutResult(status -> bookRepository.insertAll(batch));
+        return batch.size();
+    }
+
+    // Книга без id или null, если строка некорректна или автор либо жанр не найдены.
+    // Название может содержать ';', поэтому колонки ищутся с конца строки
+    private static Book parseBook(String line, Map<String, Author> authorsByName, Map<String, Genre> genresByName) {
+        int genresStart = line.lastIndexOf(COLUMN_SEPARATOR);
+        int authorStart = genresStart > 0 ? line.lastIndexOf(COLUMN_SEPARATOR, genresStart - 1) : -1;
+        if (authorStart <= 0) {
+            return null;
+        }
+        String title = line.substring(0, authorStart).trim();
+        Author author = authorsByName.get(line.substring(authorStart + 1, genresStart).trim());
+        if (title.isEmpty() || author == null) {
+            return null;
+        }
+
+        List<Genre> genres = new ArrayList<>();
+        for (String genreName : line.substring(genresStart + 1).split(GENRES_SEPARATOR)) {
+            Genre genre = genresByName.get(genreName.trim());
+            if (genre == null) {
+                return null;
+            }
+            if (!genres.contains(genre)) {
+                genres.add(genre);
+            }
+        }
+        return new Book(0, title, author, genres);
+    }
+}
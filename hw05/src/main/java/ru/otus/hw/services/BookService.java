@@ -5,12 +5,22 @@ import ru.otus.hw.models.Book;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface BookService {
     Optional<Book> findById(long id);
 
+    List<Book> findAllByIds(Set<Long> ids);
+
     List<Book> findAll();
 
+    void findAll(Consumer<Book> action);
+
+    List<Book> findPage(long afterId, int limit);
+
+    // Не больше limit книг, в названии которых есть text без учета регистра
+    List<Book> searchByTitle(String text, int limit);
+
     Book insert(String title, long authorId, Set<Long> genresIds);
 
     Book update(long id, String title, long authorId, Set<Long> genresIds);
@@ -7,10 +7,13 @@ import ru.otus.hw.models.Book;
 import ru.otus.hw.repositories.AuthorRepository;
 import ru.otus.hw.repositories.BookRepository;
 import ru.otus.hw.repositories.GenreRepository;
+import ru.otus.hw.search.TitleSearchIndex;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.springframework.util.CollectionUtils.isEmpty;
 
@@ -23,16 +26,38 @@ public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
 
+    private final TitleSearchIndex titleSearchIndex;
+
     @Override
     public Optional<Book> findById(long id) {
         return bookRepository.findById(id);
     }
 
+    @Override
+    public List<Book> findAllByIds(Set<Long> ids) {
+        return bookRepository.findAllByIds(ids);
+    }
+
     @Override
     public List<Book> findAll() {
         return bookRepository.findAll();
     }
 
+    @Override
+    public void findAll(Consumer<Book> action) {
+        bookRepository.findAll(action);
+    }
+
+    @Override
+    public List<Book> findPage(long afterId, int limit) {
+        return bookRepository.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<Book> searchByTitle(String text, int limit) {
+        return bookRepository.findAllByIds(new LinkedHashSet<>(titleSearchIndex.search(text, limit)));
+    }
+
     @Override
     public Book insert(String title, long authorId, Set<Long> genresIds) {
         return save(0, title, authorId, genresIds);
@@ -0,0 +1,89 @@
+package ru.otus.hw.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.JdbcBookRepository;
+import ru.otus.hw.repositories.JdbcGenreRepository;
+import ru.otus.hw.search.TitleSearchIndex;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("Замер запросов к БД по логическим именам ")
+@JdbcTest
+@Import({QueryMetricsConfig.class, StatementMetricsRegistry.class, JdbcBookRepository.class,
+        JdbcGenreRepository.class, TitleSearchIndex.class})
+class MeteredNamedParameterJdbcTemplateTest {
+
+    private static final int ROUNDS = 100;
+
+    @Autowired
+    private StatementMetricsRegistry metricsRegistry;
+
+    @Autowired
+    private JdbcBookRepository bookRepository;
+
+    @Autowired
+    private JdbcGenreRepository genreRepository;
+
+    @DisplayName("должен считать вызовы и строки каждого запроса")
+    @Test
+    void shouldCountCallsAndRowsByStatementName() {
+        metricsRegistry.reset();
+
+        genreRepository.findAll();
+        genreRepository.findAll();
+        bookRepository.findAll();
+        bookRepository.save(new Book(0, "BookTitle_10500", new Author(1, "Author_1"),
+                List.of(new Genre(1, "Genre_1"), new Genre(2, "Genre_2"))));
+
+        assertThat(metricsRegistry.getStats())
+                .filteredOn(stats -> stats.callCount() > 0)
+                .extracting(StatementStats::name, StatementStats::callCount, StatementStats::rowCount)
+                .containsExactlyInAnyOrder(
+                        tuple("genres.findAll", 2L, 12L),
+                        tuple("books.findAll", 1L, 6L),
+                        tuple("books.insert", 1L, 1L),
+                        tuple("books.insertGenres", 1L, 2L));
+        assertThat(metricsRegistry.getStats())
+                .allMatch(stats -> stats.errorCount() == 0 && stats.p50Nanos() <= stats.p99Nanos());
+    }
+
+    @DisplayName("должен загружать набор книг за один запрос вместо запроса на каждую книгу")
+    @Test
+    void shouldLoadBooksByIdsInOneRoundTrip() {
+        var ids = new LinkedHashSet<>(List.of(1L, 2L, 3L));
+        metricsRegistry.reset();
+
+        for (int i = 0; i < ROUNDS; i++) {
+            ids.forEach(bookRepository::findById);
+            bookRepository.findAllByIds(ids);
+        }
+
+        // Время обоих вариантов видно в выводе команды stats
+        assertThat(metricsRegistry.getStats())
+                .filteredOn(stats -> stats.callCount() > 0)
+                .extracting(StatementStats::name, StatementStats::callCount, StatementStats::rowCount)
+                .containsExactlyInAnyOrder(
+                        tuple("books.findById", ROUNDS * 3L, ROUNDS * 3L),
+                        tuple("books.findAllByIds", (long) ROUNDS, ROUNDS * 6L));
+    }
+
+    @DisplayName("должен называть запрос без комментария по началу его текста")
+    @Test
+    void shouldNameUnnamedStatementBySqlText() {
+        assertThat(StatementMetricsRegistry.nameOf("""
+                SELECT id, name
+                FROM genres
+                """)).isEqualTo("SELECT id, name FROM genres");
+    }
+}
@@ -0,0 +1,66 @@
+package ru.otus.hw.repositories;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.repositories.cache.CacheStats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Кэш авторов поверх репозитория на основе Jdbc ")
+@JdbcTest
+@Import({CachingAuthorRepository.class, JdbcAuthorRepository.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CachingAuthorRepositoryTest {
+
+    @Autowired
+    private CachingAuthorRepository cachingRepository;
+
+    @MockitoSpyBean
+    private JdbcAuthorRepository jdbcRepository;
+
+    @DisplayName("должен читать автора из БД только при первом обращении")
+    @Test
+    void shouldLoadAuthorOnce() {
+        cachingRepository.findById(1);
+
+        assertThat(cachingRepository.findById(1)).contains(new Author(1, "Author_1"));
+        verify(jdbcRepository).findById(1);
+        assertThat(cachingRepository.getStats().get(0))
+                .extracting(CacheStats::hitCount, CacheStats::missCount, CacheStats::size)
+                .containsExactly(1L, 1L, 1);
+    }
+
+    @DisplayName("должен наполнять кэш по id при чтении полного списка и перечитывать его после сброса")
+    @Test
+    void shouldCacheAllAuthors() {
+        assertThat(cachingRepository.findAll()).hasSize(3);
+        cachingRepository.findAll();
+        cachingRepository.findById(2);
+        verify(jdbcRepository).findAll();
+        verify(jdbcRepository, never()).findById(2);
+
+        cachingRepository.evictAll();
+        cachingRepository.findAll();
+        verify(jdbcRepository, times(2)).findAll();
+    }
+
+    @DisplayName("должен отдавать копии, изменение которых не портит кэш")
+    @Test
+    void shouldNotShareCachedAuthors() {
+        cachingRepository.findAll().get(0).setFullName("Changed");
+        cachingRepository.findById(1).orElseThrow().setFullName("Changed");
+
+        assertThat(cachingRepository.findById(1)).contains(new Author(1, "Author_1"));
+        assertThat(cachingRepository.findAll().get(0)).isEqualTo(new Author(1, "Author_1"));
+        verify(jdbcRepository).findAll();
+    }
+}
@@ -0,0 +1,83 @@
+package ru.otus.hw.repositories;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.cache.CacheStats;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Кэш жанров поверх репозитория на основе Jdbc ")
+@JdbcTest(properties = "library.reference-cache.max-size=3")
+@Import({CachingGenreRepository.class, JdbcGenreRepository.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CachingGenreRepositoryTest {
+
+    @Autowired
+    private CachingGenreRepository cachingRepository;
+
+    @MockitoSpyBean
+    private JdbcGenreRepository jdbcRepository;
+
+    @DisplayName("должен дочитывать из БД только жанры, которых нет в кэше")
+    @Test
+    void shouldLoadOnlyMissingGenres() {
+        cachingRepository.findAllByIds(Set.of(1L, 2L));
+
+        var genres = cachingRepository.findAllByIds(Set.of(3L, 2L, 1L));
+
+        assertThat(genres).containsExactly(new Genre(1, "Genre_1"), new Genre(2, "Genre_2"), new Genre(3, "Genre_3"));
+        verify(jdbcRepository).findAllByIds(Set.of(1L, 2L));
+        verify(jdbcRepository).findAllByIds(Set.of(3L));
+        assertThat(cachingRepository.getStats().get(0))
+                .extracting(CacheStats::hitCount, CacheStats::missCount, CacheStats::size)
+                .containsExactly(2L, 3L, 3);
+    }
+
+    @DisplayName("должен вытеснять давно не читавшиеся жанры при переполнении")
+    @Test
+    void shouldEvictLeastRecentlyUsedGenres() {
+        cachingRepository.findAllByIds(Set.of(1L, 2L, 3L));
+        cachingRepository.findAllByIds(Set.of(1L));
+
+        cachingRepository.findAllByIds(Set.of(4L));
+        cachingRepository.findAllByIds(Set.of(1L, 2L));
+
+        verify(jdbcRepository).findAllByIds(Set.of(2L));
+        assertThat(cachingRepository.getStats().get(0).evictionCount()).isEqualTo(2);
+    }
+
+    @DisplayName("должен не кэшировать полный список, который не помещается в кэш, и перечитывать его после сброса")
+    @Test
+    void shouldCacheAllGenresOnlyWhenTheyFit() {
+        assertThat(cachingRepository.findAll()).hasSize(6);
+        cachingRepository.findAll();
+        verify(jdbcRepository, times(2)).findAll();
+
+        assertThat(cachingRepository.findAllByIds(Set.of(5L, 6L)))
+                .isEqualTo(List.of(new Genre(5, "Genre_5"), new Genre(6, "Genre_6")));
+        cachingRepository.evictAll();
+        cachingRepository.findAllByIds(Set.of(5L));
+        verify(jdbcRepository).findAllByIds(Set.of(5L));
+    }
+
+    @DisplayName("должен отдавать копии, изменение которых не портит кэш")
+    @Test
+    void shouldNotShareCachedGenres() {
+        cachingRepository.findAllByIds(Set.of(1L)).get(0).setName("Changed");
+        cachingRepository.findAll().get(0).setName("Changed");
+
+        assertThat(cachingRepository.findAllByIds(Set.of(1L))).containsExactly(new Genre(1, "Genre_1"));
+        verify(jdbcRepository).findAllByIds(Set.of(1L));
+    }
+}
@@ -1,30 +1,52 @@
 package ru.otus.hw.repositories;
 
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.transaction.TestTransaction;
 import ru.otus.hw.models.Author;
 import ru.otus.hw.models.Book;
 import ru.otus.hw.models.Genre;
+import ru.otus.hw.search.TitleSearchIndex;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @DisplayName("Репозиторий на основе Jdbc для работы с книгами ")
 @JdbcTest
-@Import({JdbcBookRepository.class, JdbcGenreRepository.class})
+@Import({JdbcBookRepository.class, JdbcGenreRepository.class, TitleSearchIndex.class})
 class JdbcBookRepositoryTest {
 
     @Autowired
     private JdbcBookRepository repositoryJdbc;
 
+    @MockitoSpyBean
+    private NamedParameterJdbcOperations jdbc;
+
+    @Autowired
+    private TitleSearchIndex titleSearchIndex;
+
     private List<Author> dbAuthors;
 
     private List<Genre> dbGenres;
@@ -58,6 +80,34 @@ class JdbcBookRepositoryTest {
         actualBooks.forEach(System.out::println);
     }
 
+    @DisplayName("должен отдавать книги по одной в порядке id")
+    @Test
+    void shouldStreamAllBooks() {
+        List<Book> actualBooks = new ArrayList<>();
+        repositoryJdbc.findAll(actualBooks::add);
+
+        assertThat(actualBooks).containsExactlyElementsOf(dbBooks);
+    }
+
+    @DisplayName("должен загружать книги по набору id одним запросом")
+    @Test
+    void shouldReturnBooksByIdsInSingleQuery() {
+        var actualBooks = repositoryJdbc.findAllByIds(Set.of(3L, 1L, 100L));
+
+        assertThat(actualBooks).containsExactly(dbBooks.get(0), dbBooks.get(2));
+        verify(jdbc).query(contains("books.findAllByIds"), any(SqlParameterSource.class),
+                any(RowCallbackHandler.class));
+        assertThat(repositoryJdbc.findAllByIds(Set.of())).isEmpty();
+    }
+
+    @DisplayName("должен загружать страницу книг после заданного id вместе с жанрами")
+    @Test
+    void shouldReturnBooksPageAfterId() {
+        assertThat(repositoryJdbc.findPage(0, 2)).containsExactlyElementsOf(dbBooks.subList(0, 2));
+        assertThat(repositoryJdbc.findPage(2, 2)).containsExactlyElementsOf(dbBooks.subList(2, 3));
+        assertThat(repositoryJdbc.findPage(3, 2)).isEmpty();
+    }
+
     @DisplayName("должен сохранять новую книгу")
     @Test
     void shouldSaveNewBook() {
@@ -74,6 +124,22 @@ class JdbcBookRepositoryTest {
                 .isEqualTo(returnedBook);
     }
 
+    @DisplayName("должен вставлять несколько книг одним batch-ем с жанрами")
+    @Test
+    void shouldInsertAllBooks() {
+        var expectedBooks = List.of(
+                new Book(0, "BookTitle_10501", dbAuthors.get(0), List.of(dbGenres.get(0), dbGenres.get(1))),
+                new Book(0, "BookTitle_10502", dbAuthors.get(1), List.of(dbGenres.get(2))));
+
+        repositoryJdbc.insertAll(expectedBooks);
+
+        assertThat(expectedBooks).allMatch(book -> book.getId() > 0);
+        expectedBooks.forEach(expectedBook -> assertThat(repositoryJdbc.findById(expectedBook.getId()))
+                .isPresent()
+                .get()
+                .isEqualTo(expectedBook));
+    }
+
     @DisplayName("должен сохранять измененную книгу")
     @Test
     void shouldSaveUpdatedBook() {
@@ -96,6 +162,65 @@ class JdbcBookRepositoryTest {
                 .isEqualTo(returnedBook);
     }
 
+    @DisplayName("должен при сохранении книги с теми же жанрами не переписывать связи с жанрами")
+    @Test
+    void shouldNotRewriteUnchangedGenresRelations() {
+        var expectedBook = new Book(1L, "BookTitle_10500", dbAuthors.get(0), dbGenres.subList(0, 2));
+
+        repositoryJdbc.save(expectedBook);
+
+        // UPDATE книги и SELECT текущих жанров, без DELETE и INSERT в books_genres
+        verify(jdbc).update(contains("UPDATE books"), any(SqlParameterSource.class));
+        verify(jdbc).queryForList(contains("FROM books_genres"), any(SqlParameterSource.class), eq(Long.class));
+        verify(jdbc, never()).update(contains("DELETE FROM books_genres"), any(SqlParameterSource.class));
+        verify(jdbc, never()).batchUpdate(anyString(), any(SqlParameterSource[].class));
+        assertThat(repositoryJdbc.findById(1L)).contains(expectedBook);
+    }
+
+    @DisplayName("должен при смене жанров книги удалять и вставлять только изменившиеся связи")
+    @Test
+    void shouldUpdateOnlyChangedGenresRelations() {
+        var expectedBook = new Book(1L, "BookTitle_1", dbAuthors.get(0),
+                List.of(dbGenres.get(1), dbGenres.get(2), dbGenres.get(3)));
+        var deleteParams = ArgumentCaptor.forClass(SqlParameterSource.class);
+        var insertParams = ArgumentCaptor.forClass(SqlParameterSource[].class);
+
+        repositoryJdbc.save(expectedBook);
+
+        // Жанр 1 убран, жанры 3 и 4 добавлены, связь с жанром 2 не трогаем
+        verify(jdbc).update(contains("DELETE FROM books_genres"), deleteParams.capture());
+        verify(jdbc).batchUpdate(contains("INSERT INTO books_genres"), insertParams.capture());
+        assertThat(deleteParams.getValue().getValue("genre_ids")).asInstanceOf(InstanceOfAssertFactories.COLLECTION)
+                .containsExactly(1L);
+        assertThat(insertParams.getValue()).extracting(params -> params.getValue("genre_id"))
+                .containsExactlyInAnyOrder(3L, 4L);
+        assertThat(repositoryJdbc.findById(1L)).contains(expectedBook);
+    }
+
+    @DisplayName("должен менять индекс поиска по названию только после коммита")
+    @Test
+    void shouldUpdateTitleSearchIndexOnlyAfterCommit() {
+        repositoryJdbc.save(new Book(0, "Rolled back title", dbAuthors.get(0), List.of(dbGenres.get(0))));
+        assertThat(titleSearchIndex.search("Rolled back", 10)).isEmpty();
+        TestTransaction.end();
+        assertThat(titleSearchIndex.search("Rolled back", 10)).isEmpty();
+
+        TestTransaction.start();
+        var committedBook = repositoryJdbc.save(
+                new Book(0, "Committed title", dbAuthors.get(0), List.of(dbGenres.get(0))));
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertThat(titleSearchIndex.search("Committed", 10)).containsExactly(committedBook.getId());
+
+        // Закоммиченную книгу удаляем тоже коммитом, чтобы не влиять на остальные тесты
+        TestTransaction.start();
+        repositoryJdbc.deleteById(committedBook.getId());
+        assertThat(titleSearchIndex.search("Committed", 10)).containsExactly(committedBook.getId());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertThat(titleSearchIndex.search("Committed", 10)).isEmpty();
+    }
+
     @DisplayName("должен удалять книгу по id ")
     @Test
     void shouldDeleteBook() {
@@ -0,0 +1,116 @@
+package ru.otus.hw.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.JdbcBookRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Без общей транзакции теста: индекс обновляется только после коммита изменений книг
+@DisplayName("Триграммный индекс названий книг ")
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TitleSearchIndex.class, TitleSearchIndexLoader.class, JdbcBookRepository.class})
+class TitleSearchIndexTest {
+
+    @Autowired
+    private TitleSearchIndex titleSearchIndex;
+
+    @Autowired
+    private JdbcBookRepository bookRepository;
+
+    private long lastSeedBookId;
+
+    @BeforeEach
+    void setUp() {
+        lastSeedBookId = findBookIds().stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+
+    // Закоммиченные тестом книги удаляются, чтобы не влиять на остальные тесты
+    @AfterEach
+    void tearDown() {
+        findBookIds().stream()
+                .filter(id -> id > lastSeedBookId)
+                .forEach(bookRepository::deleteById);
+    }
+
+    @DisplayName("должен строиться при старте по всем книгам из БД")
+    @Test
+    void shouldLoadAllBooksOnStartup() {
+        assertThat(titleSearchIndex.size()).isEqualTo(3);
+        assertThat(titleSearchIndex.search("booktitle_", 10)).containsExactly(1L, 2L, 3L);
+        assertThat(titleSearchIndex.search("Title_2", 10)).containsExactly(2L);
+    }
+
+    @DisplayName("должен находить подстроку без учета регистра, в том числе короче триграммы")
+    @Test
+    void shouldFindSubstringIgnoringCase() {
+        var index = new TitleSearchIndex();
+        index.put(1, "Война и мир");
+        index.put(2, "Мир приключений");
+        index.put(3, "Мирная жизнь");
+        index.put(4, "Приключения Тома Сойера");
+
+        assertThat(index.search("МИР", 10)).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("приключени", 10)).containsExactly(2L, 4L);
+        assertThat(index.search("и м", 10)).containsExactly(1L);
+        assertThat(index.search("ж", 10)).containsExactly(3L);
+        assertThat(index.search("мир", 2)).containsExactly(1L, 2L);
+        assertThat(index.search("мир и война", 10)).isEmpty();
+        assertThat(index.search(" ", 10)).isEmpty();
+    }
+
+    @DisplayName("должен отражать изменение и удаление книг")
+    @Test
+    void shouldFollowBookChanges() {
+        var book = new Book(0, "Unique_Title", new Author(1, "Author_1"),
+                new ArrayList<>(List.of(new Genre(1, "Genre_1"))));
+
+        bookRepository.save(book);
+        assertThat(titleSearchIndex.search("unique", 10)).containsExactly(book.getId());
+
+        book.setTitle("Renamed_Title");
+        bookRepository.save(book);
+        assertThat(titleSearchIndex.search("unique", 10)).isEmpty();
+        assertThat(titleSearchIndex.search("renamed", 10)).containsExactly(book.getId());
+
+        bookRepository.deleteById(book.getId());
+        assertThat(titleSearchIndex.search("renamed", 10)).isEmpty();
+        assertThat(titleSearchIndex.size()).isEqualTo(3);
+    }
+
+    @DisplayName("должен находить книги после пересборки индекса из-за удалений")
+    @Test
+    void shouldKeepResultsAfterCompaction() {
+        var index = new TitleSearchIndex();
+        for (int id = 1; id <= 5000; id++) {
+            index.put(id, "Book number " + id);
+        }
+        for (int id = 1; id <= 4000; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("number 3", 10)).isEmpty();
+        assertThat(index.search("number 4001", 10)).containsExactly(4001L);
+        assertThat(index.search("number 500", 10)).containsExactly(5000L);
+        assertThat(index.search("number 41", 1000)).hasSize(100).startsWith(4100L);
+    }
+
+    private List<Long> findBookIds() {
+        return bookRepository.findAll().stream().map(Book::getId).toList();
+    }
+}
@@ -0,0 +1,115 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.JdbcAuthorRepository;
+import ru.otus.hw.repositories.JdbcBookRepository;
+import ru.otus.hw.repositories.JdbcGenreRepository;
+import ru.otus.hw.search.TitleSearchIndex;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Без общей транзакции теста: импорт сам коммитит каждый batch, это и проверяется
+@DisplayName("Сервис массового импорта книг ")
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookImportServiceImpl.class, JdbcAuthorRepository.class, JdbcGenreRepository.class,
+        JdbcBookRepository.class, TitleSearchIndex.class})
+class BookImportServiceImplTest {
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private JdbcBookRepository bookRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private long lastSeedBookId;
+
+    @BeforeEach
+    void setUp() {
+        lastSeedBookId = findBookIds().stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+
+    // Закоммиченные импортом книги удаляются, чтобы не влиять на остальные тесты
+    @AfterEach
+    void tearDown() {
+        findBookIds().stream()
+                .filter(id -> id > lastSeedBookId)
+                .forEach(bookRepository::deleteById);
+    }
+
+    @DisplayName("должен импортировать книги batch-ами и пропускать строки с неизвестными авторами и жанрами")
+    @Test
+    void shouldImportBooksInBatches() throws IOException {
+        Path file = tempDir.resolve("books.csv");
+        Files.write(file, List.of(
+                "title;author;genres",
+                "Imported_1;Author_1;Genre_1",
+                "Imported;2;Author_2;Genre_2, Genre_3, Genre_2",
+                "Imported_3;Unknown;Genre_1",
+                "Imported_4;Author_3;Unknown",
+                "",
+                "Imported_5;Author_3;Genre_6"));
+        List<Long> progress = new ArrayList<>();
+
+        var result = bookImportService.importBooks(file, 2, progress::add);
+
+        assertThat(result.importedCount()).isEqualTo(3);
+        assertThat(result.skippedCount()).isEqualTo(2);
+        assertThat(progress).containsExactly(2L, 3L);
+        assertThat(bookRepository.findPage(lastSeedBookId, 10))
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("id")
+                .containsExactly(
+                        new Book(0, "Imported_1", new Author(1, "Author_1"), List.of(new Genre(1, "Genre_1"))),
+                        new Book(0, "Imported;2", new Author(2, "Author_2"),
+                                List.of(new Genre(2, "Genre_2"), new Genre(3, "Genre_3"))),
+                        new Book(0, "Imported_5", new Author(3, "Author_3"), List.of(new Genre(6, "Genre_6"))));
+    }
+
+    @DisplayName("должен сохранять закоммиченные batch-и, если следующий batch упал")
+    @Test
+    void shouldKeepCommittedBatchesWhenLaterBatchFails() throws IOException {
+        Path file = tempDir.resolve("books.csv");
+        Files.write(file, List.of(
+                "title;author;genres",
+                "Imported_1;Author_1;Genre_1",
+                "Imported_2;Author_2;Genre_2",
+                "Imported_3;Author_3;Genre_3",
+                "Too_long_" + "x".repeat(255) + ";Author_1;Genre_1"));
+        List<Long> progress = new ArrayList<>();
+
+        assertThatThrownBy(() -> bookImportService.importBooks(file, 2, progress::add))
+                .isInstanceOf(DataAccessException.class);
+
+        assertThat(progress).containsExactly(2L);
+        assertThat(bookRepository.findPage(lastSeedBookId, 10))
+                .extracting(Book::getTitle)
+                .containsExactly("Imported_1", "Imported_2");
+    }
+
+    private List<Long> findBookIds() {
+        return bookRepository.findAll().stream().map(Book::getId).toList();
+    }
+}
@@ -1,5 +1,6 @@
 package ru.otus.hw.repositories;
 
+import ru.otus.hw.dto.BookDto;
 import ru.otus.hw.models.Book;
 
 import java.util.List;
@@ -10,6 +11,9 @@ public interface BookRepository {
 
     List<Book> findAll();
 
+    // Для чтения списка: DTO собираются из скалярных запросов, без управляемых сущностей
+    List<BookDto> findAllDtos();
+
     Book save(Book book);
 
     void deleteById(long id);
@@ -5,10 +5,15 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
+import ru.otus.hw.dto.AuthorDto;
+import ru.otus.hw.dto.BookDto;
+import ru.otus.hw.dto.GenreDto;
 import ru.otus.hw.models.Book;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +52,27 @@ public class JpaBookRepository implements BookRepository {
         return query.getResultList();
     }
 
+    @Override
+    public List<BookDto> findAllDtos() {
+        List<Tuple> bookRows = em.createQuery("""
+                        SELECT b.id AS bookId, b.title AS title, a.id AS authorId, a.fullName AS authorFullName
+                        FROM Book b JOIN b.author a
+                        ORDER BY b.id
+                        """, Tuple.class)
+                .getResultList();
+        if (bookRows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<GenreDto>> genresByBookId = findGenreDtosByBookId();
+        return bookRows.stream()
+                .map(row -> new BookDto(
+                        row.get("bookId", Long.class),
+                        row.get("title", String.class),
+                        new AuthorDto(row.get("authorId", Long.class), row.get("authorFullName", String.class)),
+                        genresByBookId.getOrDefault(row.get("bookId", Long.class), List.of())))
+                .toList();
+    }
+
     @Override
     public Book save(Book book) {
         if (book.getId() == 0) {
@@ -74,4 +100,20 @@ public class JpaBookRepository implements BookRepository {
         query.setParameter("id", id);
         return !(boolean) query.getSingleResult();
     }
+
+    // Жанры всех книг одним запросом по связи, без передачи списка id параметром
+    private Map<Long, List<GenreDto>> findGenreDtosByBookId() {
+        List<Tuple> genreRows = em.createQuery("""
+                        SELECT b.id AS bookId, g.id AS genreId, g.name AS genreName
+                        FROM Book b JOIN b.genres g
+                        ORDER BY b.id, g.id
+                        """, Tuple.class)
+                .getResultList();
+        Map<Long, List<GenreDto>> genresByBookId = new HashMap<>();
+        for (Tuple row : genreRows) {
+            genresByBookId.computeIfAbsent(row.get("bookId", Long.class), bookId -> new ArrayList<>())
+                    .add(new GenreDto(row.get("genreId", Long.class), row.get("genreName", String.class)));
+        }
+        return genresByBookId;
+    }
 }
@@ -40,9 +40,7 @@ public class BookServiceImpl implements BookService {
     @Override
     @Transactional(readOnly = true)
     public List<BookDto> findAll() {
-        return bookRepository.findAll().stream()
-                .map(bookFullDtoConverter::bookToBookFullDto)
-                .toList();
+        return bookRepository.findAllDtos();
     }
 
     @Override
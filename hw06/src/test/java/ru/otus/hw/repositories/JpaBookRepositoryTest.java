@@ -8,6 +8,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import ru.otus.hw.dto.AuthorDto;
+import ru.otus.hw.dto.BookDto;
+import ru.otus.hw.dto.GenreDto;
 import ru.otus.hw.models.Author;
 import ru.otus.hw.models.Book;
 import ru.otus.hw.models.Genre;
@@ -110,6 +113,28 @@ class JpaBookRepositoryTest {
                 });
     }
 
+    @DisplayName("Должен загружать список всех книг в виде DTO с автором и жанрами")
+    @Test
+    void shouldReturnBookDtosWithAllInfo() {
+        // when
+        List<BookDto> books = repositoryJpa.findAllDtos();
+
+        // then
+        assertThat(books)
+                .hasSize(EXPECTED_NUMBER_OF_BOOKS)
+                .extracting(BookDto::id)
+                .isSorted();
+        assertThat(books).allSatisfy(bookDto -> {
+            val book = em.find(Book.class, bookDto.id());
+            assertThat(bookDto.title()).isEqualTo(book.getTitle());
+            assertThat(bookDto.author())
+                    .isEqualTo(new AuthorDto(book.getAuthor().getId(), book.getAuthor().getFullName()));
+            assertThat(bookDto.genres())
+                    .extracting(GenreDto::id)
+                    .containsExactlyElementsOf(book.getGenres().stream().map(Genre::getId).sorted().toList());
+        });
+    }
+
     @DisplayName("Должен корректно обновлять существующую книгу")
     @Test
     void shouldUpdateExistingBook() {
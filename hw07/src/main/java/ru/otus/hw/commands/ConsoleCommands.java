@@ -1,15 +1,25 @@
 package ru.otus.hw.commands;
 
+import lombok.RequiredArgsConstructor;
 import org.h2.tools.Console;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.dto.CacheRegionStatsDto;
+import ru.otus.hw.services.ReferenceCacheService;
 
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 @SuppressWarnings({"unused"})
+@RequiredArgsConstructor
 @ShellComponent()
 public class ConsoleCommands {
 
+    private final ReferenceCacheService referenceCacheService;
+
     // sh2c
     @ShellMethod(value = "Start h2 console", key = "sh2c")
     public void startH2Console() {
@@ -19,4 +29,28 @@ public class ConsoleCommands {
             throw new IllegalArgumentException(e);
         }
     }
+
+    // cstats, cstats --reset - показать и обнулить
+    @ShellMethod(value = "Show authors and genres cache statistics", key = "cstats")
+    public String showCacheStats(@ShellOption(value = "reset", defaultValue = "false") boolean reset) {
+        List<CacheRegionStatsDto> cacheStats = referenceCacheService.getStats();
+        if (reset) {
+            referenceCacheService.resetStats();
+        }
+        return cacheStats.stream()
+                .map(ConsoleCommands::cacheStatsToString)
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    // cclear - после изменения авторов или жанров в обход приложения, например через консоль h2
+    @ShellMethod(value = "Clear authors and genres cache", key = "cclear")
+    public String clearCache() {
+        referenceCacheService.evictAll();
+        return "Authors and genres cache cleared";
+    }
+
+    private static String cacheStatsToString(CacheRegionStatsDto stats) {
+        return "%s: hits %d, misses %d, puts %d, hit ratio %s%%".formatted(stats.region(), stats.hitCount(),
+                stats.missCount(), stats.putCount(), String.format(Locale.ROOT, "%.1f", stats.hitRatio() * 100));
+    }
 }
@@ -0,0 +1,9 @@
+package ru.otus.hw.dto;
+
+public record CacheRegionStatsDto(String region, long hitCount, long missCount, long putCount) {
+
+    public double hitRatio() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+}
@@ -0,0 +1,14 @@
+package ru.otus.hw.models;
+
+// Имена регионов кэша второго уровня, настройки регионов - в ehcache.xml
+public final class CacheRegions {
+
+    public static final String AUTHORS = "authors";
+
+    public static final String GENRES = "genres";
+
+    public static final String REFERENCE_QUERIES = "reference-queries";
+
+    private CacheRegions() {
+    }
+}
@@ -1,8 +1,23 @@
 package ru.otus.hw.repositories;
 
+import jakarta.annotation.Nonnull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.otus.hw.models.Author;
+import ru.otus.hw.models.CacheRegions;
+
+import java.util.List;
 
 
 public interface AuthorRepository extends JpaRepository<Author,Long> {
+    // В кэше запросов хранятся только id, сами авторы берутся из кэша второго уровня
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
+    @Override
+    @Nonnull
+    List<Author> findAll();
 }
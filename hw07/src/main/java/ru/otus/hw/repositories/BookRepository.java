@@ -9,7 +9,7 @@ import ru.otus.hw.models.Book;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
     @EntityGraph("book-author-genres-entity-graph")
     @Override
     @Nonnull
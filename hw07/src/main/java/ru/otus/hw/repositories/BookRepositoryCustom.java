@@ -0,0 +1,11 @@
+package ru.otus.hw.repositories;
+
+import ru.otus.hw.dto.BookDto;
+
+import java.util.List;
+
+public interface BookRepositoryCustom {
+
+    // Для чтения списка: DTO собираются из скалярных запросов, без управляемых сущностей
+    List<BookDto> findAllDtos();
+}
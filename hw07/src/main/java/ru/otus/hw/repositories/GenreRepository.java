@@ -1,9 +1,32 @@
 package ru.otus.hw.repositories;
 
+import jakarta.annotation.Nonnull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.otus.hw.models.CacheRegions;
 import ru.otus.hw.models.Genre;
 
+import java.util.List;
+
 
 public interface GenreRepository extends JpaRepository<Genre,Long> {
+    // В кэше запросов хранятся только id, сами жанры берутся из кэша второго уровня
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
+    @Override
+    @Nonnull
+    List<Genre> findAll();
 
+    // Жанры книги при сохранении: повторные сохранения с тем же набором жанров не идут в БД
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
+    @Override
+    @Nonnull
+    List<Genre> findAllById(@Nonnull Iterable<Long> ids);
 }
@@ -45,9 +45,7 @@ public class BookServiceImpl implements BookService {
     @Override
     @Transactional(readOnly = true)
     public List<BookDto> findAll() {
-        return bookRepository.findAll().stream()
-                .map(bookMapper::bookToBookFullDto)
-                .toList();
+        return bookRepository.findAllDtos();
     }
 
     @Override
@@ -0,0 +1,13 @@
+package ru.otus.hw.services;
+
+import ru.otus.hw.dto.CacheRegionStatsDto;
+
+import java.util.List;
+
+public interface ReferenceCacheService {
+    List<CacheRegionStatsDto> getStats();
+
+    void resetStats();
+
+    void evictAll();
+}
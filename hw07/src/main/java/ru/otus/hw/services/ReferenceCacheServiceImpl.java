@@ -0,0 +1,55 @@
+package ru.otus.hw.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.dto.CacheRegionStatsDto;
+import ru.otus.hw.models.CacheRegions;
+
+import java.util.List;
+
+// Статистика и очистка кэша второго уровня и кэша запросов для авторов и жанров
+@RequiredArgsConstructor
+@Service
+public class ReferenceCacheServiceImpl implements ReferenceCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public List<CacheRegionStatsDto> getStats() {
+        Statistics statistics = getSessionFactory().getStatistics();
+        return List.of(
+                toDto(CacheRegions.AUTHORS, statistics.getDomainDataRegionStatistics(CacheRegions.AUTHORS)),
+                toDto(CacheRegions.GENRES, statistics.getDomainDataRegionStatistics(CacheRegions.GENRES)),
+                // Регион запросов создается при первом кэшируемом запросе, до этого статистики нет
+                toDto(CacheRegions.REFERENCE_QUERIES,
+                        statistics.getQueryRegionStatistics(CacheRegions.REFERENCE_QUERIES)));
+    }
+
+    @Override
+    public void resetStats() {
+        getSessionFactory().getStatistics().clear();
+    }
+
+    @Override
+    public void evictAll() {
+        var cache = getSessionFactory().getCache();
+        cache.evictAllRegions();
+        cache.evictQueryRegions();
+    }
+
+    private SessionFactory getSessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    private static CacheRegionStatsDto toDto(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return new CacheRegionStatsDto(region, 0, 0, 0);
+        }
+        return new CacheRegionStatsDto(region, statistics.getHitCount(), statistics.getMissCount(),
+                statistics.getPutCount());
+    }
+}
@@ -0,0 +1,103 @@
+package ru.otus.hw.repositories;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.otus.hw.dto.BookDto;
+import ru.otus.hw.mappers.AuthorMapper;
+import ru.otus.hw.mappers.BookMapper;
+import ru.otus.hw.mappers.GenreMapper;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Чтение списка книг через сущности с маппингом в DTO и через скалярную проекцию.
+ * Замеряются среднее время и объем памяти, выделенной в куче на один вызов, результаты печатаются.
+ * Имя не подпадает под шаблоны surefire, поэтому в mvn test не входит;
+ * запускается явно: mvn test -pl hw07 -Dtest=BookReadPathBenchmark
+ */
+@DisplayName("Сравнение чтения списка книг через сущности и через проекцию ")
+@DataJpaTest
+@Import({BookMapper.class, AuthorMapper.class, GenreMapper.class})
+class BookReadPathBenchmark {
+
+    private static final int BOOKS_COUNT = 5_000;
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Autowired
+    private BookRepository repository;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        var entityManager = em.getEntityManager();
+        List<Author> authors = entityManager.createQuery("SELECT a FROM Author a", Author.class).getResultList();
+        List<Genre> genres = entityManager.createQuery("SELECT g FROM Genre g", Genre.class).getResultList();
+        for (int i = 0; i < BOOKS_COUNT; i++) {
+            em.persist(new Book(0, "Benchmark_Book_" + i, authors.get(i % authors.size()),
+                    new ArrayList<>(List.of(genres.get(i % genres.size()), genres.get((i + 1) % genres.size()))),
+                    new ArrayList<>()));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @DisplayName("Замер чтения через сущности и через проекцию")
+    @Test
+    void measureReadPaths() {
+        Supplier<List<BookDto>> entityPath = () -> repository.findAll().stream()
+                .map(bookMapper::bookToBookFullDto)
+                .toList();
+        Supplier<List<BookDto>> projectionPath = repository::findAllDtos;
+
+        System.out.println("Entity path:     " + measure(entityPath));
+        System.out.println("Projection path: " + measure(projectionPath));
+    }
+
+    // Каждый вызов с пустым контекстом, чтобы сущности гидрировались заново, а не брались из него
+    private ReadPathStats measure(Supplier<List<BookDto>> readPath) {
+        var threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            em.clear();
+            readPath.get();
+        }
+        long totalNanos = 0;
+        long totalAllocatedBytes = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            em.clear();
+            long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+            long startNanos = System.nanoTime();
+            readPath.get();
+            totalNanos += System.nanoTime() - startNanos;
+            totalAllocatedBytes += threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        return new ReadPathStats(totalNanos / MEASURED_ROUNDS, totalAllocatedBytes / MEASURED_ROUNDS);
+    }
+
+    private record ReadPathStats(long averageNanos, long allocatedBytes) {
+
+        @Override
+        public String toString() {
+            return "%.3f ms, %d KB allocated per call".formatted(averageNanos / 1e6, allocatedBytes / 1024);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ru.otus.hw.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.otus.hw.dto.BookDto;
+import ru.otus.hw.dto.GenreDto;
+import ru.otus.hw.mappers.AuthorMapper;
+import ru.otus.hw.mappers.BookMapper;
+import ru.otus.hw.mappers.GenreMapper;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Чтение списка книг через проекцию ")
+@DataJpaTest
+@Import({BookMapper.class, AuthorMapper.class, GenreMapper.class})
+class BookReadPathTest {
+
+    private static final int BOOKS_COUNT = 20;
+
+    @Autowired
+    private BookRepository repository;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        var entityManager = em.getEntityManager();
+        List<Author> authors = entityManager.createQuery("SELECT a FROM Author a", Author.class).getResultList();
+        List<Genre> genres = entityManager.createQuery("SELECT g FROM Genre g", Genre.class).getResultList();
+        for (int i = 0; i < BOOKS_COUNT; i++) {
+            em.persist(new Book(0, "Read_Path_Book_" + i, authors.get(i % authors.size()),
+                    new ArrayList<>(List.of(genres.get(i % genres.size()), genres.get((i + 1) % genres.size()))),
+                    new ArrayList<>()));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @DisplayName("Должна возвращать те же книги, что и чтение через сущности")
+    @Test
+    void shouldReturnSameBooksAsEntityPath() {
+        List<BookDto> entityBooks = repository.findAll().stream()
+                .map(bookMapper::bookToBookFullDto)
+                .toList();
+        em.clear();
+
+        assertThat(repository.findAllDtos()).isEqualTo(normalize(entityBooks));
+    }
+
+    // Порядок книг и жанров как у проекции: по id
+    private static List<BookDto> normalize(List<BookDto> books) {
+        return books.stream()
+                .map(book -> new BookDto(book.id(), book.title(), book.author(), book.genres().stream()
+                        .sorted(Comparator.comparingLong(GenreDto::id))
+                        .toList()))
+                .sorted(Comparator.comparingLong(BookDto::id))
+                .toList();
+    }
+}
@@ -0,0 +1,108 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.dto.CacheRegionStatsDto;
+import ru.otus.hw.models.CacheRegions;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.AuthorRepository;
+import ru.otus.hw.repositories.GenreRepository;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Кэш второго уровня для авторов и жанров ")
+// Без общей тестовой транзакции: каждое чтение репозитория идёт в своей закрытой транзакции
+// и своей сессии, поэтому попадания в кэш - настоящие попадания между сессиями
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ReferenceCacheServiceImpl.class)
+class ReferenceCacheServiceImplTest {
+
+    @Autowired
+    private ReferenceCacheService referenceCacheService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @BeforeEach
+    void setUp() {
+        referenceCacheService.evictAll();
+        referenceCacheService.resetStats();
+    }
+
+    @DisplayName("Должен брать автора из кэша, а не из БД, при повторном чтении")
+    @Test
+    void shouldReadAuthorFromCache() {
+        // when
+        authorRepository.findById(1L);
+        authorRepository.findById(1L);
+
+        // then
+        assertThat(getStats(CacheRegions.AUTHORS))
+                .isEqualTo(new CacheRegionStatsDto(CacheRegions.AUTHORS, 1, 1, 1));
+    }
+
+    @DisplayName("Должен брать повторный список жанров из кэша запросов")
+    @Test
+    void shouldReadGenresListFromQueryCache() {
+        // when
+        var genres = genreRepository.findAll();
+        var cachedGenres = genreRepository.findAll();
+
+        // then
+        assertThat(cachedGenres).extracting("id").containsExactlyElementsOf(
+                genres.stream().map(Genre::getId).toList());
+        assertThat(getStats(CacheRegions.REFERENCE_QUERIES))
+                .isEqualTo(new CacheRegionStatsDto(CacheRegions.REFERENCE_QUERIES, 1, 1, 1));
+        assertThat(getStats(CacheRegions.GENRES).hitCount()).isEqualTo(genres.size());
+    }
+
+    @DisplayName("Должен брать жанры по тем же id из кэша запросов")
+    @Test
+    void shouldReadGenresByIdsFromQueryCache() {
+        // given
+        var ids = Set.of(1L, 2L);
+
+        // when
+        genreRepository.findAllById(ids);
+        var genres = genreRepository.findAllById(ids);
+
+        // then
+        assertThat(genres).hasSize(2);
+        assertThat(getStats(CacheRegions.REFERENCE_QUERIES).hitCount()).isEqualTo(1);
+        assertThat(getStats(CacheRegions.GENRES).hitCount()).isEqualTo(2);
+    }
+
+    @DisplayName("Должен снова читать автора из БД после очистки кэша")
+    @Test
+    void shouldMissAfterEvictAll() {
+        // given
+        authorRepository.findById(1L);
+
+        // when
+        referenceCacheService.evictAll();
+        authorRepository.findById(1L);
+
+        // then
+        assertThat(getStats(CacheRegions.AUTHORS).missCount()).isEqualTo(2);
+        assertThat(getStats(CacheRegions.AUTHORS).hitCount()).isZero();
+    }
+
+    private CacheRegionStatsDto getStats(String region) {
+        return referenceCacheService.getStats().stream()
+                .filter(stats -> stats.region().equals(region))
+                .findFirst()
+                .orElseThrow();
+    }
+}